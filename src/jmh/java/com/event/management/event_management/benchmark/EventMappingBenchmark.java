@@ -0,0 +1,78 @@
+package com.event.management.event_management.benchmark;
+
+import com.event.management.event_management.controller.EventController;
+import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.entity.Event;
+import com.event.management.event_management.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventController.mapToDTO and Jackson serialisation of EventDTO lists of various sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private MethodHandle mapToDTO;
+    private List<Event> events;
+    private List<EventDTO> dtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws Throwable {
+        EventController controller = new EventController(null, null, null, null);
+        mapToDTO = MethodHandles.privateLookupIn(EventController.class, MethodHandles.lookup())
+                .findVirtual(EventController.class, "mapToDTO", MethodType.methodType(EventDTO.class, Event.class))
+                .bindTo(controller);
+
+        // Same modules and date handling as the application's Spring-configured mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        User creator = new User(1L, "creator", "creator@example.com", "hash", null);
+        events = new ArrayList<>(size);
+        dtos = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            Event event = new Event();
+            event.setId(i);
+            event.setTitle("Event " + i);
+            event.setDescription("A reasonably sized description for benchmark event number " + i);
+            event.setLocation("Hall " + (i % 10));
+            event.setEventDate(LocalDateTime.of(2030, 1, 1, 10, 0).plusHours(i));
+            event.setCapacity(500);
+            event.setCreator(creator);
+            events.add(event);
+            dtos.add((EventDTO) mapToDTO.invoke(event));
+        }
+    }
+
+    @Benchmark
+    public List<EventDTO> mapToDTO() throws Throwable {
+        List<EventDTO> result = new ArrayList<>(events.size());
+        for (Event event : events) {
+            result.add((EventDTO) mapToDTO.invoke(event));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeEventDTOs() throws Exception {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
@@ -0,0 +1,85 @@
+package com.event.management.event_management.benchmark;
+
+import com.event.management.event_management.security.JwtClaims;
+import com.event.management.event_management.security.JwtTokenProvider;
+import com.event.management.event_management.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing, verification (cached and uncached) and the claim extractors.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    static final String SECRET = "YmVuY2htYXJrLXNlY3JldC1rZXktdGhhdC1pcy1sb25nLWVub3VnaC1mb3ItaHMyNTY=";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = provider(10_000);
+        uncachedProvider = provider(0);  // Every call pays the full parse and HMAC check
+        authentication = new UsernamePasswordAuthenticationToken("benchmark-user", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+        token = cachedProvider.generateToken(authentication, 42L);
+    }
+
+    static JwtTokenProvider provider(long cacheSize) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtTokenProvider provider = new JwtTokenProvider(new VerifiedTokenCache(cacheSize, 300_000, registry), registry);
+        ReflectionTestUtils.setField(provider, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(provider, "EXPIRATION_TIME", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(provider, "initParser");
+        return provider;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedProvider.generateToken(authentication, 42L);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachedProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public JwtClaims verifyAndParseCached() {
+        return cachedProvider.verifyAndParse(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromTokenUncached() {
+        return uncachedProvider.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public Long getUserIdFromTokenUncached() {
+        return uncachedProvider.getUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public String getRolesFromTokenUncached() {
+        return uncachedProvider.getRolesFromToken(token);
+    }
+}
@@ -0,0 +1,70 @@
+package com.event.management.event_management.benchmark;
+
+import com.event.management.event_management.security.RateLimitProperties;
+import com.event.management.event_management.security.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the rate limiter: route matching, and taking a token from a hot bucket,
+ * from many distinct buckets, and from one bucket shared by all benchmark threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitBenchmark {
+
+    private RateLimiter rateLimiter;
+    private RateLimiter.Route route;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getPolicies().put("login", policy("POST", "/api/auth/login"));
+        properties.getPolicies().put("event-registration", policy("POST", "/api/attendees/register/*"));
+        rateLimiter = new RateLimiter(properties);
+        route = rateLimiter.match("POST", "/api/attendees/register/42");
+    }
+
+    // Effectively unlimited, so every call takes the allow path
+    private static RateLimitProperties.Policy policy(String method, String path) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setMethod(method);
+        policy.setPath(path);
+        policy.setCapacity(Integer.MAX_VALUE);
+        policy.setRefillInterval(Duration.ofNanos(1));
+        return policy;
+    }
+
+    @Benchmark
+    public RateLimiter.Route matchUnlimitedRoute() {
+        return rateLimiter.match("GET", "/api/events");
+    }
+
+    @Benchmark
+    public RateLimiter.Route matchLimitedRoute() {
+        return rateLimiter.match("POST", "/api/attendees/register/42");
+    }
+
+    @Benchmark
+    public long acquireSameKey() {
+        return route.tryAcquire(42L, System.nanoTime());
+    }
+
+    @Benchmark
+    public long acquireManyKeys() {
+        return route.tryAcquire(ThreadLocalRandom.current().nextLong(10_000), System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long acquireContendedKey() {
+        return route.tryAcquire(42L, System.nanoTime());
+    }
+}
@@ -0,0 +1,93 @@
+package com.event.management.event_management.benchmark;
+
+import com.event.management.event_management.EventManagementApplication;
+import com.event.management.event_management.entity.Attendee;
+import com.event.management.event_management.entity.Event;
+import com.event.management.event_management.entity.Role;
+import com.event.management.event_management.entity.User;
+import com.event.management.event_management.repository.EventRepository;
+import com.event.management.event_management.repository.UserRepository;
+import com.event.management.event_management.service.AttendeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full AttendeeServiceImpl register/cancel round-trip against an in-memory H2 database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Application {
+        ConfigurableApplicationContext context;
+        AttendeeService attendeeService;
+        UserRepository userRepository;
+        Long eventId;
+
+        @Setup(Level.Trial)
+        public void start() {
+            // Passed as arguments so they override application.properties; the web stack is needed
+            // for the security configuration, but it listens on a random port
+            context = new SpringApplicationBuilder(EventManagementApplication.class)
+                    .run(
+                            "--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                            "--spring.datasource.driver-class-name=org.h2.Driver",
+                            "--spring.datasource.username=sa",
+                            "--spring.datasource.password=",
+                            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                            "--spring.jpa.hibernate.ddl-auto=create-drop",
+                            "--spring.flyway.enabled=false",  // Migrations are PostgreSQL-specific
+                            "--jwt.secret=" + JwtBenchmark.SECRET,
+                            "--jwt.expiration=3600000",
+                            "--admin.registration.token=benchmark",
+                            "--logging.level.root=WARN");
+            attendeeService = context.getBean(AttendeeService.class);
+            userRepository = context.getBean(UserRepository.class);
+
+            User creator = userRepository.save(newUser());
+            Event event = new Event();
+            event.setTitle("Benchmark event");
+            event.setLocation("Main hall");
+            event.setEventDate(LocalDateTime.now().plusDays(30));
+            event.setCreator(creator);  // No capacity: every registration finds a seat
+            eventId = context.getBean(EventRepository.class).save(event).getId();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Registrant {
+        Long userId;
+
+        @Setup(Level.Trial)
+        public void createUser(Application application) {
+            userId = application.userRepository.save(newUser()).getId();
+        }
+    }
+
+    @Benchmark
+    public Long registerAndCancel(Application application, Registrant registrant) {
+        Attendee attendee = application.attendeeService.registerForEvent(application.eventId, registrant.userId);
+        application.attendeeService.cancelRegistration(attendee.getId());
+        return attendee.getId();
+    }
+
+    private static User newUser() {
+        String name = "bench-" + UUID.randomUUID();
+        return new User(null, name, name + "@example.com", "not-a-real-hash", Role.ROLE_USER);
+    }
+}
@@ -0,0 +1,86 @@
+package com.event.management.event_management.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Read-through caches in front of EventService.
+ * <p>
+ * Spring's {@link CacheManager} is the extension point: the in-process Caffeine manager below is used
+ * unless {@code events.cache.provider} is set to something else, in which case a distributed
+ * {@link CacheManager} bean (Redis, Hazelcast, ...) can be declared instead.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EVENT_CATALOG = "eventCatalog";  // getAllEvents and catalog pages
+    public static final String EVENTS_BY_CREATOR = "eventsByCreator";
+
+    @Bean
+    @ConditionalOnProperty(name = "events.cache.provider", havingValue = "local", matchIfMissing = true)
+    public CacheManager cacheManager(
+            @Value("${events.cache.catalog.ttl-seconds:30}") long catalogTtl,
+            @Value("${events.cache.catalog.max-size:1000}") long catalogMaxSize,
+            @Value("${events.cache.by-creator.ttl-seconds:120}") long byCreatorTtl,
+            @Value("${events.cache.by-creator.max-size:10000}") long byCreatorMaxSize,
+            @Value("${datasource.replicas.enabled:false}") boolean replicasEnabled,
+            @Value("${datasource.replicas.max-lag-ms:1000}") long replicaMaxLagMs,
+            @Value("${datasource.replicas.check-interval-ms:1000}") long replicaCheckIntervalMs) {
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(EVENT_CATALOG, boundedCache(catalogTtl, catalogMaxSize));
+        cacheManager.registerCustomCache(EVENTS_BY_CREATOR, boundedCache(byCreatorTtl, byCreatorMaxSize));
+
+        // Evictions are applied after the surrounding transaction commits, so a concurrent
+        // read can't re-cache the data that is about to be replaced
+        if (!replicasEnabled) {
+            return new TransactionAwareCacheManagerProxy(cacheManager);
+        }
+        // ...nor, with read replicas, an older copy read from a replica that hasn't caught up yet
+        return new TransactionAwareCacheManagerProxy(new EvictionHoldCacheManager(cacheManager,
+                Duration.ofMillis(replicaMaxLagMs + replicaCheckIntervalMs)));
+    }
+
+    /**
+     * Boot only binds the cache.* metrics of caches it recognises as Caffeine caches; with read replicas
+     * they are wrapped by EvictionHoldCacheManager, so bind the Caffeine cache underneath instead.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+    public CacheMeterBinderProvider<EvictionHoldCacheManager.HoldingCache> holdingCacheMeterBinderProvider() {
+        // Not a lambda: the provider's generic type decides which caches Boot hands to it
+        return new CacheMeterBinderProvider<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public MeterBinder getMeterBinder(EvictionHoldCacheManager.HoldingCache cache, Iterable<Tag> tags) {
+                if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                    return new CaffeineCacheMetrics<>(
+                            (com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache, cache.getName(), tags);
+                }
+                return null;
+            }
+        };
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> boundedCache(long ttlSeconds, long maxSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)  // Window TinyLFU eviction
+                .recordStats()
+                .build();
+    }
+}
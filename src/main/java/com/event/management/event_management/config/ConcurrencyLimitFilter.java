@@ -0,0 +1,81 @@
+package com.event.management.event_management.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of API requests being processed at once and sheds the excess with 503.
+ * With virtual threads the servlet container no longer limits concurrency, so this keeps a
+ * registration burst from turning into thousands of threads waiting on the connection pool.
+ * Disabled when {@code request.concurrency.max-in-flight} is 0.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)  // Shed load before authentication does any work
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(@Value("${request.concurrency.max-in-flight:0}") int maxInFlight,
+                                  @Value("${request.concurrency.acquire-timeout-ms:200}") long acquireTimeoutMs,
+                                  MeterRegistry meterRegistry) {
+        this.permits = maxInFlight > 0 ? new Semaphore(maxInFlight) : null;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.rejected = Counter.builder("http.server.requests.shed")
+                .description("API requests rejected because the in-flight limit was reached")
+                .register(meterRegistry);
+        if (permits != null) {
+            Gauge.builder("http.server.requests.in.flight", permits, p -> maxInFlight - p.availablePermits())
+                    .description("API requests currently holding a concurrency permit")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return permits == null || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            response.getWriter().write("{\"status\":\"error\",\"message\":\"Server is busy, please retry\"}");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.event.management.event_management.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * For read replicas: after an eviction, a cache is not refilled until the replicas have had time
+ * to replay the write that caused it. A read in between may come from a replica that still has
+ * the old data, and caching that would keep it for the whole TTL; during the hold, reads go to
+ * the database (the primary for the user who wrote) and their results are not stored.
+ */
+public class EvictionHoldCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final long holdNanos;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public EvictionHoldCacheManager(CacheManager delegate, Duration hold) {
+        this.delegate = delegate;
+        this.holdNanos = hold.toNanos();
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache == null) {
+            Cache target = delegate.getCache(name);
+            if (target == null) {
+                return null;
+            }
+            cache = caches.computeIfAbsent(name, n -> new HoldingCache(target, holdNanos));
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    // Public so CacheConfig can bind cache metrics to the cache underneath
+    public static final class HoldingCache implements Cache {
+
+        private final Cache delegate;
+        private final long holdNanos;
+        private volatile long holdUntil = System.nanoTime();
+
+        HoldingCache(Cache delegate, long holdNanos) {
+            this.delegate = delegate;
+            this.holdNanos = holdNanos;
+        }
+
+        private boolean held() {
+            return System.nanoTime() - holdUntil < 0;
+        }
+
+        private void hold() {
+            holdUntil = System.nanoTime() + holdNanos;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return delegate.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return delegate.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            if (!held()) {
+                return delegate.get(key, valueLoader);
+            }
+            try {
+                return valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            if (!held()) {
+                delegate.put(key, value);
+            }
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return held() ? delegate.get(key) : delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            hold();
+            delegate.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            hold();
+            return delegate.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            hold();
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            hold();
+            return delegate.invalidate();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.event.management.event_management.config;
+
+import com.event.management.event_management.security.UserPrincipal;
+import com.event.management.event_management.service.IdempotencyStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Makes the configured POST routes safe to retry. A request carrying an Idempotency-Key header
+ * claims the key (scoped to the calling user) before it runs; a retry with the same key and the
+ * same method, path and body gets the first 2xx response back with Idempotent-Replayed: true and
+ * nothing is written again. A retry while the first attempt is still running gets 409, reusing a
+ * key for a different request 422. Responses other than 2xx are not recorded, so a request that
+ * failed can be retried with the same key. Requests without the header are not affected.
+ * <p>
+ * The request runs in one transaction that the service transactions join, and the response is
+ * recorded in it before it commits: the write and its recorded response commit together, so a
+ * crash in between cannot let a retry run the request a second time. Recording only succeeds
+ * while the claim is still this request's; a request that outlived its claim (lock-timeout-ms)
+ * is rolled back instead of committing next to the retry that took the key over. The transaction
+ * times out at half the lock timeout, so that is the exception rather than the rule.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)  // After the security chain: the user is known and authorised
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final TransactionTemplate requestTransaction;
+    private final List<PathPattern> paths;
+    private final int maxBodyBytes;
+    private final Counter replayed;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, PlatformTransactionManager transactionManager,
+                             @Value("${idempotency.paths:/api/events,/api/attendees/register/*}") List<String> paths,
+                             @Value("${idempotency.max-body-bytes:65536}") int maxBodyBytes,
+                             @Value("${idempotency.lock-timeout-ms:60000}") long lockTimeoutMs,
+                             MeterRegistry meterRegistry) {
+        this.idempotencyStore = idempotencyStore;
+        this.requestTransaction = new TransactionTemplate(transactionManager);
+        this.requestTransaction.setTimeout((int) Math.max(1, lockTimeoutMs / 2000));  // Seconds
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.maxBodyBytes = maxBodyBytes;
+        this.replayed = Counter.builder("http.server.requests.idempotent.replayed")
+                .description("Requests answered with the recorded response of an earlier request with the same Idempotency-Key")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return paths.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        Long userId = currentUserId();
+        if (userId == null) {
+            filterChain.doFilter(request, response);  // Keys are per user; anonymous routes are not covered
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large for an idempotent request");
+            return;
+        }
+
+        String keyHash = hash(userId + ":" + key);
+        String requestHash = hash(request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString(), body);
+        IdempotencyStore.Claim claim = idempotencyStore.claim(keyHash, requestHash);
+        switch (claim.outcome()) {
+            case REPLAY -> replay(response, claim.response());
+            case IN_PROGRESS -> {
+                response.setHeader("Retry-After", "1");
+                writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed");
+            }
+            case KEY_REUSED -> writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request");
+            case CLAIMED -> proceed(new CachedBodyRequest(request, body), response, filterChain, keyHash, requestHash,
+                    claim.claimedAt());
+        }
+    }
+
+    private void proceed(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String keyHash, String requestHash, Instant claimedAt) throws ServletException, IOException {
+        ContentCachingResponseWrapper recorded = new ContentCachingResponseWrapper(response);
+        Result result = Result.FAILED;
+        try {
+            result = requestTransaction.execute(transaction -> {
+                try {
+                    filterChain.doFilter(request, recorded);
+                } catch (IOException | ServletException e) {
+                    throw new FilterChainException(e);
+                }
+                int status = recorded.getStatus();
+                if (status < 200 || status >= 300) {
+                    transaction.setRollbackOnly();  // Not recorded, so nothing it did may stay either
+                    return Result.FAILED;
+                }
+                if (!idempotencyStore.complete(keyHash, claimedAt, new IdempotencyStore.StoredResponse(
+                        requestHash, status, recorded.getContentType(), recorded.getContentAsByteArray()))) {
+                    transaction.setRollbackOnly();
+                    return Result.CLAIM_LOST;
+                }
+                return Result.COMPLETED;
+            });
+        } catch (FilterChainException e) {
+            if (e.getCause() instanceof ServletException servletException) {
+                throw servletException;
+            }
+            throw (IOException) e.getCause();
+        } finally {
+            if (result != Result.COMPLETED) {
+                idempotencyStore.release(keyHash, claimedAt);  // No-op if the claim was taken over
+            }
+        }
+
+        if (result == Result.CLAIM_LOST) {
+            response.setHeader("Retry-After", "1");
+            writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed");
+            return;
+        }
+        recorded.copyBodyToResponse();
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyStore.StoredResponse stored) throws IOException {
+        replayed.increment();
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("application/json");
+        response.getWriter().write("{\"status\":\"error\",\"message\":\"" + message + "\"}");
+    }
+
+    private static String hash(String text, byte[]... data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            for (byte[] bytes : data) {
+                digest.update(bytes);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private enum Result { COMPLETED, FAILED, CLAIM_LOST }
+
+    // Carries the filter chain's checked exceptions out of the transaction callback, which rolls back
+    private static final class FilterChainException extends RuntimeException {
+        FilterChainException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    // The body had to be read to hash it; hand the same bytes on to the controller
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
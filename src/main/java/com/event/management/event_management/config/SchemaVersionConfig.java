@@ -0,0 +1,33 @@
+package com.event.management.event_management.config;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchemaVersionConfig {
+
+    /**
+     * Apply pending migrations, then refuse to start unless the database is at exactly the
+     * schema version this build was written for (e.g. a failed migration, or a newer build
+     * having already moved the schema ahead).
+     */
+    @Bean
+    public FlywayMigrationStrategy verifyingMigrationStrategy(
+            @Value("${schema.expected-version}") String expectedVersion) {
+        return flyway -> {
+            flyway.migrate();
+
+            MigrationInfo current = flyway.info().current();
+            String actualVersion = current != null && current.getVersion() != null
+                    ? current.getVersion().getVersion()
+                    : "none";
+            if (!expectedVersion.equals(actualVersion)) {
+                throw new IllegalStateException("Database schema is at version " + actualVersion
+                        + " but this build expects version " + expectedVersion);
+            }
+        };
+    }
+}
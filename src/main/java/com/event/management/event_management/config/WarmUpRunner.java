@@ -0,0 +1,196 @@
+package com.event.management.event_management.config;
+
+import com.event.management.event_management.dto.AttendeeDTO;
+import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.dto.EventPageDTO;
+import com.event.management.event_management.dto.LoginRequest;
+import com.event.management.event_management.entity.AttendeeStatus;
+import com.event.management.event_management.repository.AttendeeRepository;
+import com.event.management.event_management.repository.EventRepository;
+import com.event.management.event_management.repository.RefreshTokenRepository;
+import com.event.management.event_management.repository.UserRepository;
+import com.event.management.event_management.security.JwtTokenProvider;
+import com.event.management.event_management.service.EventService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startup warm-up, so the first requests after a deploy run at steady-state latency.
+ * <p>
+ * Spring Boot only reports the readiness probe (/actuator/health/readiness) as UP once all
+ * application runners have returned, so the instance gets no traffic from the load balancer
+ * until this finishes: the connection pool is filled, the hot queries, JWT signing/verification
+ * and JSON mappings have run often enough to be compiled, the event catalog cache is loaded and
+ * the servlet and security filter chain have served real requests over loopback. A failing step
+ * is logged and skipped; warm-up never keeps the application from starting.
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final Long NO_ID = -1L;  // Never matches a row: exercises the query, not the data
+
+    private final DataSource dataSource;
+    private final TransactionTemplate readOnlyTransaction;
+    private final EventRepository eventRepository;
+    private final AttendeeRepository attendeeRepository;
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final EventService eventService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    @Value("${warmup.iterations:200}")
+    private int iterations;
+
+    @Value("${warmup.http-requests:50}")
+    private int httpRequests;
+
+    public WarmUpRunner(DataSource dataSource, PlatformTransactionManager transactionManager,
+                        EventRepository eventRepository, AttendeeRepository attendeeRepository,
+                        UserRepository userRepository, RefreshTokenRepository refreshTokenRepository,
+                        EventService eventService, JwtTokenProvider jwtTokenProvider,
+                        ObjectMapper objectMapper, Environment environment) {
+        this.dataSource = dataSource;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.eventRepository = eventRepository;
+        this.attendeeRepository = attendeeRepository;
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.eventService = eventService;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        step("connection pool", this::openConnectionPool);
+        step("repositories", this::exerciseRepositories);
+        step("JWT", this::exerciseJwt);
+        step("JSON mapping", this::exerciseJackson);
+        step("HTTP", this::exerciseHttp);
+        log.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void step(String name, WarmUpStep step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
+            log.debug("Warm-up of {} took {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Warm-up of {} failed, continuing: {}", name, e.toString());
+        }
+    }
+
+    // Hikari otherwise opens connections lazily and in the background; hold minimumIdle at once
+    private void openConnectionPool() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+        int size = dataSource.unwrap(HikariDataSource.class).getMinimumIdle();
+        List<Connection> connections = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                connections.add(dataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();  // Back to the pool, which keeps it open
+            }
+        }
+    }
+
+    private void exerciseRepositories() {
+        eventService.getAllEvents();  // Also loads the catalog cache
+        for (int i = 0; i < iterations; i++) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                eventRepository.findDatedFirstPage(PageRequest.of(0, 20));
+                eventRepository.findUndatedPageAfter(0L, PageRequest.of(0, 20));
+                eventRepository.findDtoByCreatorId(NO_ID);
+                eventRepository.findDtoById(NO_ID);
+                eventRepository.findSeatAvailability(List.of(NO_ID));
+                eventRepository.findAttendeeListVersion(NO_ID);
+                attendeeRepository.findDtoByEventIdAndStatus(NO_ID, AttendeeStatus.REGISTERED);
+                userRepository.findByUsername("");
+                refreshTokenRepository.findByTokenHash("");
+            });
+        }
+    }
+
+    // Distinct claims per token, so each verification is a cache miss that checks the signature
+    private void exerciseJwt() {
+        for (int i = 0; i < iterations; i++) {
+            String token = jwtTokenProvider.generateToken("warmup", "ROLE_USER", NO_ID - i);
+            jwtTokenProvider.verifyAndParse(token);
+        }
+    }
+
+    private void exerciseJackson() throws Exception {
+        EventDTO event = new EventDTO(NO_ID, "Warm-up", "Warm-up event", "Nowhere", LocalDateTime.now(), 100,
+                new EventDTO.CreatorDTO(NO_ID, "warmup"), null, 0, 0L, null);
+        AttendeeDTO attendee = new AttendeeDTO(NO_ID, NO_ID, "warmup", NO_ID, "Warm-up", AttendeeStatus.REGISTERED);
+        String login = "{\"username\":\"warmup\",\"password\":\"warmup\"}";
+        for (int i = 0; i < iterations; i++) {
+            String eventJson = objectMapper.writeValueAsString(event);
+            objectMapper.writeValueAsString(new EventPageDTO(List.of(event), null));
+            objectMapper.writeValueAsString(List.of(attendee));
+            objectMapper.readValue(eventJson, EventDTO.class);
+            objectMapper.readValue(login, LoginRequest.class);
+        }
+    }
+
+    // Real requests through Tomcat, the security filter chain and MVC; skipped without a web server
+    private void exerciseHttp() throws Exception {
+        String port = environment.getProperty("local.server.port");
+        if (port == null || httpRequests <= 0) {
+            return;
+        }
+        String base = "http://127.0.0.1:" + port + environment.getProperty("server.servlet.context-path", "");
+        String token = jwtTokenProvider.generateToken("warmup", "ROLE_USER", NO_ID);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(base + "/actuator/health/liveness"))
+                .timeout(Duration.ofSeconds(5)).build();
+        HttpRequest events = HttpRequest.newBuilder(URI.create(base + "/api/events"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(5)).build();
+        for (int i = 0; i < httpRequests; i++) {
+            client.send(health, HttpResponse.BodyHandlers.discarding());
+            client.send(events, HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    @FunctionalInterface
+    private interface WarmUpStep {
+        void run() throws Exception;
+    }
+}
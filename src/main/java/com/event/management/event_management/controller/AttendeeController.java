@@ -1,17 +1,35 @@
 package com.event.management.event_management.controller;
 
 import com.event.management.event_management.dto.AttendeeDTO;
+import com.event.management.event_management.dto.BulkRegistrationRequest;
+import com.event.management.event_management.dto.BulkRegistrationResultDTO;
 import com.event.management.event_management.entity.Attendee;
 import com.event.management.event_management.repository.UserRepository;
 import com.event.management.event_management.security.JwtTokenProvider;
+import com.event.management.event_management.security.UserPrincipal;
+import com.event.management.event_management.service.AttendeeListVersion;
 import com.event.management.event_management.service.AttendeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/attendees")
@@ -20,11 +38,18 @@ public class AttendeeController {
     private final AttendeeService attendeeService;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
 
-    public AttendeeController(AttendeeService attendeeService, JwtTokenProvider jwtTokenProvider, UserRepository userRepository) {
+    public enum ExportFormat { NDJSON, CSV }  // ?format=NDJSON or ?format=CSV
+
+    public AttendeeController(AttendeeService attendeeService, JwtTokenProvider jwtTokenProvider,
+                              UserRepository userRepository, ObjectMapper objectMapper) {
         this.attendeeService = attendeeService;
         this.jwtTokenProvider = jwtTokenProvider;
         this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -38,16 +63,59 @@ public class AttendeeController {
         Long userId = getUserIdFromAuth(authentication);  // Extract user ID
         Attendee attendee = attendeeService.registerForEvent(eventId, userId);
 
-        // Constructing a more informative response DTO
-        AttendeeDTO responseDTO = new AttendeeDTO(
-                attendee.getId(),
-                attendee.getUser().getId(),
-                attendee.getUser().getUsername(),  // Add username
-                attendee.getEvent().getId(),
-                attendee.getEvent().getTitle()  // Add event title
-        );
+        return ResponseEntity.status(HttpStatus.CREATED).body(mapToDTO(attendee));
+    }
+
+    /**
+     * Register many users for an event at once (admins, or the event's creator).
+     * Returns one result per distinct user ID, in request order.
+     */
+    @PostMapping("/register/{eventId}/bulk")
+    @PreAuthorize("hasRole('ADMIN') or @securityService.isEventCreator(#eventId, authentication.name)")
+    public ResponseEntity<List<BulkRegistrationResultDTO>> registerUsersForEvent(
+            @PathVariable Long eventId, @Valid @RequestBody BulkRegistrationRequest request) {
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(responseDTO);
+        List<BulkRegistrationResultDTO> results = attendeeService.registerUsersForEvent(eventId, request.getUserIds());
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Join the waitlist of a full event. Registers directly if a seat is free.
+     */
+    @PostMapping("/waitlist/{eventId}")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<AttendeeDTO> joinWaitlist(
+            @PathVariable Long eventId, Authentication authentication) {
+
+        Long userId = getUserIdFromAuth(authentication);
+        Attendee attendee = attendeeService.joinWaitlist(eventId, userId);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(mapToDTO(attendee));
+    }
+
+    /**
+     * Leave the waitlist of an event.
+     */
+    @DeleteMapping("/waitlist/{eventId}")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long eventId, Authentication authentication) {
+        attendeeService.leaveWaitlist(eventId, getUserIdFromAuth(authentication));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Get the logged-in user's position in an event's waitlist (1 = next to be promoted).
+     */
+    @GetMapping("/waitlist/{eventId}/position")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> getWaitlistPosition(
+            @PathVariable Long eventId, Authentication authentication) {
+
+        long position = attendeeService.getWaitlistPosition(eventId, getUserIdFromAuth(authentication));
+        return ResponseEntity.ok(Map.of(
+                "eventId", eventId,
+                "position", position
+        ));
     }
 
 
@@ -66,9 +134,47 @@ public class AttendeeController {
      */
     @GetMapping("/event/{eventId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
-    public ResponseEntity<List<AttendeeDTO>> getAttendeesByEvent(@PathVariable Long eventId) {
+    public ResponseEntity<List<AttendeeDTO>> getAttendeesByEvent(@PathVariable Long eventId, WebRequest request) {
+        // Validators first: a change racing the list read can only leave the ETag older than the body
+        AttendeeListVersion version = attendeeService.getAttendeeListVersion(eventId).orElse(null);
+        if (version != null && request.checkNotModified(version.eTag(), version.lastModifiedAt().toEpochMilli())) {
+            return null;  // 304 from one primary-key read; attendee rows are never touched
+        }
+
         List<AttendeeDTO> attendees = attendeeService.getAttendeesByEvent(eventId);
-        return ResponseEntity.ok(attendees);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(attendees);
+    }
+
+    /**
+     * Export all attendees of an event as NDJSON (default) or CSV. Rows are written to the
+     * response as they are read, so large events neither buffer in memory nor delay the first byte.
+     */
+    @GetMapping("/event/{eventId}/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('USER')")
+    public ResponseEntity<StreamingResponseBody> exportAttendeesByEvent(
+            @PathVariable Long eventId, @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+
+        boolean csv = format == ExportFormat.CSV;
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write("id,userId,username,eventId,eventTitle,status\n");
+            }
+            attendeeService.exportAttendeesByEvent(eventId, attendee -> {
+                try {
+                    writer.write(csv ? toCsvRow(attendee) : objectMapper.writeValueAsString(attendee) + "\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);  // Client went away; abort the cursor
+                }
+            });
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"event-" + eventId + "-attendees." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
     }
 
     /**
@@ -80,6 +186,9 @@ public class AttendeeController {
         }
 
         Object principal = authentication.getPrincipal();
+        if (principal instanceof UserPrincipal userPrincipal && userPrincipal.getId() != null) {
+            return userPrincipal.getId();  // Taken from the token, no database lookup needed
+        }
         if (principal instanceof org.springframework.security.core.userdetails.User userDetails) {
             // Use the username to fetch the user from the database
             String username = userDetails.getUsername();
@@ -91,6 +200,35 @@ public class AttendeeController {
         throw new IllegalStateException("Unexpected authentication structure");
     }
 
+    /**
+     * Helper method to render an attendee as one CSV line, quoting free-text fields.
+     */
+    private static String toCsvRow(AttendeeDTO attendee) {
+        return attendee.getId() + "," + attendee.getUserId() + "," + csvField(attendee.getUsername()) + ","
+                + attendee.getEventId() + "," + csvField(attendee.getEventTitle()) + "," + attendee.getStatus() + "\n";
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Helper method to map Attendee to AttendeeDTO.
+     */
+    private AttendeeDTO mapToDTO(Attendee attendee) {
+        return new AttendeeDTO(
+                attendee.getId(),
+                attendee.getUser().getId(),
+                attendee.getUser().getUsername(),  // Add username
+                attendee.getEvent().getId(),
+                attendee.getEvent().getTitle(),  // Add event title
+                attendee.getStatus()
+        );
+    }
+
 
 
 
@@ -1,21 +1,29 @@
 package com.event.management.event_management.controller;
 
 import com.event.management.event_management.dto.LoginRequest;
+import com.event.management.event_management.dto.RefreshTokenRequest;
 import com.event.management.event_management.dto.RegisterRequest;
 import com.event.management.event_management.entity.User;
+import com.event.management.event_management.exception.AccountSuspendedException;
+import com.event.management.event_management.exception.InvalidRefreshTokenException;
+import com.event.management.event_management.exception.LoginThrottledException;
 import com.event.management.event_management.exception.UserAlreadyExistsException;
 import com.event.management.event_management.security.JwtTokenProvider;
+import com.event.management.event_management.security.PasswordVerificationExecutor;
+import com.event.management.event_management.security.TokenRevocationService;
+import com.event.management.event_management.security.UserPrincipal;
+import com.event.management.event_management.service.RefreshTokenService;
 import com.event.management.event_management.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -24,19 +32,25 @@ import java.util.Map;
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
 
     @Value("${admin.registration.token}")
     private String FIRST_ADMIN_TOKEN;
 
-    public AuthController(AuthenticationManager authenticationManager,
+    public AuthController(PasswordVerificationExecutor passwordVerificationExecutor,
                           JwtTokenProvider jwtTokenProvider,
-                          UserService userService) {
-        this.authenticationManager = authenticationManager;
+                          UserService userService,
+                          TokenRevocationService tokenRevocationService,
+                          RefreshTokenService refreshTokenService) {
+        this.passwordVerificationExecutor = passwordVerificationExecutor;
         this.jwtTokenProvider = jwtTokenProvider;
         this.userService = userService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     // Register a regular user
@@ -60,33 +74,87 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
         try {
-            // Authenticate the user
-            Authentication authentication = authenticationManager.authenticate(
+            // Authenticate the user; the password hash is checked on the bounded verification pool
+            Authentication authentication = passwordVerificationExecutor.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             loginRequest.getUsername(), loginRequest.getPassword())
             );
 
+            // Banned users would be rejected on every request anyway, so refuse to issue a token
+            if (tokenRevocationService.isBanned(authentication.getName())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                        "status", "error",
+                        "message", "This account has been suspended"
+                ));
+            }
+
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            // Fetch user details from the database
-            User user = userService.findByUsername(loginRequest.getUsername())
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            // The principal loaded during authentication already carries the user ID
+            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
 
-            // Generate JWT token including userId
-            String token = jwtTokenProvider.generateToken(authentication, user.getId());
+            // Generate JWT token including userId, plus a refresh token to renew it without the password
+            String token = jwtTokenProvider.generateToken(authentication, principal.getId());
+            String refreshToken = refreshTokenService.issue(principal.getId());
 
             return ResponseEntity.ok(Map.of(
                     "status", "success",
-                    "token", token
+                    "token", token,
+                    "refreshToken", refreshToken
             ));
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
                     "status", "error",
                     "message", "Invalid username or password"
             ));
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of(
+                            "status", "error",
+                            "message", e.getMessage()
+                    ));
+        }
+    }
+
+    // Exchange a refresh token for a new access token and a new refresh token (no password check)
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshRequest.getRefreshToken());
+            User user = rotation.user();
+
+            // Roles are read from the user row, so role changes apply at the next refresh
+            String token = jwtTokenProvider.generateToken(user.getUsername(), user.getRole().name(), user.getId());
+
+            return ResponseEntity.ok(Map.of(
+                    "status", "success",
+                    "token", token,
+                    "refreshToken", rotation.refreshToken()
+            ));
+        } catch (InvalidRefreshTokenException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
+                    "status", "error",
+                    "message", e.getMessage()
+            ));
+        } catch (AccountSuspendedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                    "status", "error",
+                    "message", e.getMessage()
+            ));
         }
     }
 
+    // Revoke the refresh token (and its rotated predecessors); the access token simply expires
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        refreshTokenService.revoke(refreshRequest.getRefreshToken());
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", "Logged out"
+        ));
+    }
+
     // Register the first admin with a predefined token
     @PostMapping("/register-first-admin")
     public ResponseEntity<?> registerFirstAdmin(
@@ -151,4 +219,38 @@ public class AuthController {
             ));
         }
     }
+
+    // Invalidate all tokens issued to a user so far (admin only)
+    @PostMapping("/revoke/{username}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> revokeTokens(@PathVariable String username) {
+        tokenRevocationService.revokeTokens(username);
+        refreshTokenService.revokeAllForUser(username);
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", "Tokens revoked for " + username
+        ));
+    }
+
+    // Block a user from authenticating until unbanned (admin only)
+    @PostMapping("/ban/{username}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> banUser(@PathVariable String username) {
+        tokenRevocationService.ban(username);
+        refreshTokenService.revokeAllForUser(username);
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", username + " has been banned"
+        ));
+    }
+
+    @DeleteMapping("/ban/{username}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> unbanUser(@PathVariable String username) {
+        tokenRevocationService.unban(username);
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", username + " has been unbanned"
+        ));
+    }
 }
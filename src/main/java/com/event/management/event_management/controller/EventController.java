@@ -1,32 +1,69 @@
 package com.event.management.event_management.controller;
 
 import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.dto.EventPageDTO;
 import com.event.management.event_management.entity.Event;
+import com.event.management.event_management.exception.PreconditionFailedException;
 import com.event.management.event_management.exception.ResourceNotFoundException;
 import com.event.management.event_management.repository.UserRepository;
 import com.event.management.event_management.security.JwtTokenProvider;
+import com.event.management.event_management.security.UserPrincipal;
+import com.event.management.event_management.service.EventCursor;
+import com.event.management.event_management.service.EventSearchCriteria;
 import com.event.management.event_management.service.EventService;
+import com.event.management.event_management.service.SeatAvailabilityHub;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/events")
 public class EventController {
 
     private final EventService eventService;
+    private final SeatAvailabilityHub seatAvailabilityHub;
 
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;  // For extracting user ID from JWT token
 
-    public EventController(EventService eventService, UserRepository userRepository, JwtTokenProvider jwtTokenProvider) {
+    // Clients may keep responses but must revalidate them; per-user, so never in shared caches
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    @Value("${events.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${events.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${events.search.max-window-days:366}")
+    private int maxSearchWindowDays;
+
+    @Value("${events.seats.stream.max-events:50}")
+    private int maxStreamEvents;
+
+    public EventController(EventService eventService, SeatAvailabilityHub seatAvailabilityHub,
+                           UserRepository userRepository, JwtTokenProvider jwtTokenProvider) {
         this.eventService = eventService;
+        this.seatAvailabilityHub = seatAvailabilityHub;
         this.userRepository = userRepository;
         this.jwtTokenProvider = jwtTokenProvider;
     }
@@ -55,23 +92,30 @@ public class EventController {
     public ResponseEntity<EventDTO> updateEvent(
             @PathVariable Long eventId,
             @RequestBody EventDTO eventDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
 
+        Long expectedVersion = parseIfMatch(ifMatch);
         try {
             String username = authentication.getName();  // Extract username from token
 
             // Call the service layer to update the event
-            Event updatedEvent = eventService.updateEvent(eventId, eventDTO, username);
+            Event updatedEvent = eventService.updateEvent(eventId, eventDTO, username, expectedVersion);
 
-            // Convert to DTO to avoid exposing internal data
-            EventDTO responseDTO = mapToDTO(updatedEvent);
+            // Convert to DTO to avoid exposing internal data. Waitlist promotions after a capacity
+            // increase update the seat counter in bulk, past the entity, so read the count again
+            EventDTO responseDTO = eventService.withCurrentSeatCounts(List.of(mapToDTO(updatedEvent))).get(0);
 
-            return ResponseEntity.ok(responseDTO);
+            return ResponseEntity.ok().eTag(eventETag(responseDTO)).body(responseDTO);
 
         } catch (AccessDeniedException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (OptimisticLockingFailureException e) {
+            // A concurrent update committed between our read and write
+            HttpStatus status = expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+            return ResponseEntity.status(status).body(null);
         }
     }
 
@@ -87,28 +131,113 @@ public class EventController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Get a single event (open to all users). The ETag is the event's version and seat count; send it
+     * back in If-Match when updating to make sure nobody else edited the event in between
+     * (registrations in the meantime don't count as edits). Last-Modified is the last edit or seat change.
+     */
+    @GetMapping("/{eventId}")
+    public ResponseEntity<EventDTO> getEvent(@PathVariable Long eventId, WebRequest request) {
+        EventDTO event = eventService.getEvent(eventId);
+        if (request.checkNotModified(eventETag(event), event.getLastModifiedAt().toEpochMilli())) {
+            return null;  // 304, headers already set
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(event);
+    }
+
     /**
      * Get all events (open to all users).
      */
     @GetMapping
-    public ResponseEntity<List<EventDTO>> getAllEvents() {
-        List<EventDTO> events = eventService.getAllEvents()
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDTO>> getAllEvents(WebRequest request) {
+        List<EventDTO> events = eventService.getAllEvents();  // Already projected to DTOs in one query
+        events = eventService.withCurrentSeatCounts(events);
+        if (request.checkNotModified(listETag(events))) {
+            return null;  // 304 without serialising the catalog again
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(events);
+    }
+
+    /**
+     * Get one page of events ordered by date, using an opaque continuation token (open to all users).
+     */
+    @GetMapping("/page")
+    public ResponseEntity<EventPageDTO> getEventsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        int pageSize = Math.min(Math.max(size == null ? defaultPageSize : size, 1), maxPageSize);
+
+        // Fetch one extra row to know whether another page follows
+        List<EventDTO> events = eventService.getEventsPage(EventCursor.decode(cursor), pageSize + 1);
+        boolean hasMore = events.size() > pageSize;
+        List<EventDTO> page = hasMore ? events.subList(0, pageSize) : events;
+
+        String nextCursor = hasMore ? EventCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return ResponseEntity.ok(new EventPageDTO(eventService.withCurrentSeatCounts(page), nextCursor));
+    }
+
+    /**
+     * Search upcoming events in a date window, optionally by location and keywords (open to all users).
+     * The window defaults to the next events.search.max-window-days days; results come in date order
+     * with the same continuation token scheme as /page.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<EventPageDTO> searchEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        int pageSize = Math.min(Math.max(size == null ? defaultPageSize : size, 1), maxPageSize);
+        LocalDateTime windowStart = from == null ? LocalDateTime.now() : from;
+        LocalDateTime windowEnd = to == null ? windowStart.plusDays(maxSearchWindowDays) : to;
+        EventSearchCriteria criteria = new EventSearchCriteria(windowStart, windowEnd, blankToNull(location), blankToNull(q));
+
+        // Fetch one extra row to know whether another page follows
+        List<EventDTO> events = eventService.searchEvents(criteria, EventCursor.decode(cursor), pageSize + 1);
+        boolean hasMore = events.size() > pageSize;
+        List<EventDTO> page = hasMore ? events.subList(0, pageSize) : events;
+
+        String nextCursor = null;
+        if (hasMore) {
+            EventDTO last = page.get(page.size() - 1);
+            nextCursor = new EventCursor(last.getEventDate(), last.getId()).encode();
+        }
+
+        return ResponseEntity.ok(new EventPageDTO(page, nextCursor));
+    }
+
+    /**
+     * Stream seat availability for up to events.seats.stream.max-events events as server-sent events.
+     * The current counts are sent first, then one "seats" event per change (coalesced per tick).
+     */
+    @GetMapping(value = "/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeatAvailability(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > maxStreamEvents) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = seatAvailabilityHub.subscribe(ids);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();  // Subscriber limit reached
+        }
+        return ResponseEntity.ok(emitter);
     }
 
     /**
      * Get events created by a specific user.
      */
     @GetMapping("/creator/{creatorId}")
-    public ResponseEntity<List<EventDTO>> getEventsByCreator(@PathVariable Long creatorId) {
-        List<EventDTO> events = eventService.getEventsByCreator(creatorId)
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(events);
+    public ResponseEntity<List<EventDTO>> getEventsByCreator(@PathVariable Long creatorId, WebRequest request) {
+        List<EventDTO> events = eventService.withCurrentSeatCounts(eventService.getEventsByCreator(creatorId));
+        if (request.checkNotModified(listETag(events))) {
+            return null;  // 304 without serialising the list again
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(events);
     }
 
     /**
@@ -117,10 +246,7 @@ public class EventController {
     @GetMapping("/my-registered")
     public ResponseEntity<List<EventDTO>> getMyRegisteredEvents(Authentication authentication) {
         Long userId = getUserIdFromAuth(authentication);
-        List<EventDTO> events = eventService.getMyRegisteredEvents(userId)
-                .stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        List<EventDTO> events = eventService.getMyRegisteredEvents(userId);  // Already projected to DTOs in one query
         return ResponseEntity.ok(events);
     }
 
@@ -133,6 +259,9 @@ public class EventController {
         }
 
         Object principal = authentication.getPrincipal();
+        if (principal instanceof UserPrincipal userPrincipal && userPrincipal.getId() != null) {
+            return userPrincipal.getId();  // Taken from the token, no database lookup needed
+        }
         if (principal instanceof org.springframework.security.core.userdetails.User userDetails) {
             // Use the username to fetch the user from the database
             String username = userDetails.getUsername();
@@ -145,6 +274,62 @@ public class EventController {
     }
 
 
+    // "<version>-<registeredCount>": the seat count is part of the body, but not of what If-Match checks
+    private static String eventETag(EventDTO event) {
+        return "\"" + event.getVersion() + "-" + event.getRegisteredCount() + "\"";
+    }
+
+    /**
+     * Strong ETag of an event list, derived from the ids, versions and seat counts of its events rather
+     * than the serialised body: every other field of an event lives on its row, so an edit always bumps
+     * its version, and additions, removals and reordering change the id sequence. Virtual series
+     * occurrences have no row and are identified by their series and start time instead. Each event is
+     * one fixed-width record fed to SHA-256, so different lists cannot map to the same tag.
+     */
+    private static String listETag(List<EventDTO> events) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        ByteBuffer record = ByteBuffer.allocate(3 * Long.BYTES + 2 * Integer.BYTES);
+        for (EventDTO event : events) {
+            // Which occurrence of the series; rows are already told apart by their id
+            LocalDateTime start = event.getId() == null ? event.getEventDate() : null;
+            record.clear()
+                    .putLong(EventCursor.catalogKey(event))
+                    .putLong(event.getVersion())  // A series' version for its virtual occurrences
+                    .putInt(event.getRegisteredCount())
+                    .putLong(start == null ? 0 : start.toEpochSecond(ZoneOffset.UTC))
+                    .putInt(start == null ? 0 : start.getNano());
+            digest.update(record.flip());
+        }
+        return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    // If-Match names the version the client edited; "*" only requires the event to exist
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String value = tag.substring(1, tag.length() - 1);
+            int seats = value.indexOf('-');
+            try {
+                return Long.valueOf(seats < 0 ? value : value.substring(0, seats));  // Seat count ignored
+            } catch (NumberFormatException ignored) {
+                // Not one of our ETags, so it cannot match
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version of the event");
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
     /**
      * Helper method to map Event to EventDTO.
      */
@@ -159,7 +344,11 @@ public class EventController {
                 new EventDTO.CreatorDTO(
                         event.getCreator().getId(),
                         event.getCreator().getUsername()
-                )
+                ),
+                event.getSeries() == null ? null : event.getSeries().getId(),
+                event.getRegisteredCount(),
+                event.getVersion(),
+                event.getLastModifiedAt()
         );
     }
 }
@@ -0,0 +1,100 @@
+package com.event.management.event_management.controller;
+
+import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.dto.EventSeriesDTO;
+import com.event.management.event_management.service.EventSeriesService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/series")
+public class EventSeriesController {
+
+    private final EventSeriesService eventSeriesService;
+
+    @Value("${events.series.horizon-days:90}")
+    private int horizonDays;
+
+    public EventSeriesController(EventSeriesService eventSeriesService) {
+        this.eventSeriesService = eventSeriesService;
+    }
+
+    /**
+     * Create a recurring event series. Both admin and users can create series.
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<EventSeriesDTO> createSeries(
+            @Valid @RequestBody EventSeriesDTO seriesDTO, Authentication authentication) {
+        EventSeriesDTO created = eventSeriesService.createSeries(seriesDTO, authentication.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    /**
+     * Get a series and its rule (open to all users).
+     */
+    @GetMapping("/{seriesId}")
+    public ResponseEntity<EventSeriesDTO> getSeries(@PathVariable Long seriesId) {
+        return ResponseEntity.ok(eventSeriesService.getSeries(seriesId));
+    }
+
+    /**
+     * End a series. Only its creator or an admin can delete it; occurrences that already have
+     * registrations or edits stay on as ordinary events.
+     */
+    @DeleteMapping("/{seriesId}")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<Void> deleteSeries(@PathVariable Long seriesId, Authentication authentication) {
+        eventSeriesService.deleteSeries(seriesId, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * List the occurrences of a series in [from, to), by default the next events.series.horizon-days
+     * days. Occurrences without an event row have a null id; book them through POST below.
+     */
+    @GetMapping("/{seriesId}/occurrences")
+    public ResponseEntity<List<EventDTO>> getOccurrences(
+            @PathVariable Long seriesId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime windowStart = from == null ? LocalDateTime.now() : from;
+        LocalDateTime windowEnd = to == null ? windowStart.plusDays(horizonDays) : to;
+        return ResponseEntity.ok(eventSeriesService.getOccurrences(seriesId, windowStart, windowEnd));
+    }
+
+    /**
+     * Get the event row of one occurrence, creating it on first use. Registrations and edits then go
+     * through /api/attendees and /api/events with its id.
+     */
+    @PostMapping("/{seriesId}/occurrences")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<EventDTO> materializeOccurrence(
+            @PathVariable Long seriesId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            Authentication authentication) {
+        return ResponseEntity.ok(eventSeriesService.materializeOccurrence(seriesId, start, authentication.getName()));
+    }
+
+    /**
+     * Cancel one occurrence that has no event row yet. Only the series creator or an admin can cancel.
+     */
+    @DeleteMapping("/{seriesId}/occurrences")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public ResponseEntity<Void> cancelOccurrence(
+            @PathVariable Long seriesId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            Authentication authentication) {
+        eventSeriesService.cancelOccurrence(seriesId, start, authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.event.management.event_management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * One read replica: its connection pool and the replication lag last measured on it.
+ * A replica only takes reads while it is reachable and no further behind than the allowed lag.
+ */
+public final class Replica {
+
+    // 0 while the replica has replayed everything it received; on a server that is not a
+    // standby (e.g. a second local instance used for testing) there is no lag to report
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private final long maxLagMs;
+
+    private volatile boolean reachable;  // Unusable until the first check has passed
+    private volatile long lagMs = -1;
+
+    public Replica(String name, HikariDataSource dataSource, long maxLagMs) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.maxLagMs = maxLagMs;
+    }
+
+    public boolean isUsable() {
+        return reachable && lagMs <= maxLagMs;
+    }
+
+    /**
+     * Measure the replication lag. Returns whether the replica may take reads now.
+     */
+    public boolean check() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            lagMs = resultSet.getLong(1);
+            reachable = true;
+        } catch (SQLException e) {
+            markUnreachable();
+        }
+        return isUsable();
+    }
+
+    // Taken out of rotation until the next successful check
+    public void markUnreachable() {
+        reachable = false;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public HikariDataSource dataSource() {
+        return dataSource;
+    }
+
+    public long lagMs() {
+        return lagMs;
+    }
+}
@@ -0,0 +1,104 @@
+package com.event.management.event_management.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas (the "replica" profile, see application-replica.properties). Replaces Spring Boot's
+ * single DataSource with the primary pool from spring.datasource.* plus one pool per replica URL,
+ * behind a ReadWriteRoutingDataSource. Flyway, JPA and everything else use the routing
+ * DataSource; outside a read-only transaction it always hands out primary connections.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    public ReplicaRoutingConfig(@Value("${datasource.replicas.urls}") List<String> urls,
+                                @Value("${datasource.replicas.username:${spring.datasource.username}}") String username,
+                                @Value("${datasource.replicas.password:${spring.datasource.password}}") String password,
+                                @Value("${datasource.replicas.pool-size:10}") int poolSize,
+                                @Value("${datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMs,
+                                @Value("${datasource.replicas.max-lag-ms:1000}") long maxLagMs,
+                                MeterRegistry meterRegistry) {
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(url.trim());
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setConnectionTimeout(connectionTimeoutMs);  // Fail over to the primary quickly
+            dataSource.setReadOnly(true);
+            dataSource.setInitializationFailTimeout(-1);  // A replica that is down must not stop startup
+            dataSource.setMetricRegistry(meterRegistry);
+
+            Replica replica = new Replica(name, dataSource, maxLagMs);
+            Gauge.builder("datasource.replica.lag", replica, Replica::lagMs)
+                    .description("Replication lag last measured on the replica (-1 before the first check)")
+                    .baseUnit("milliseconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // A user's own writes are visible on every usable replica once it has been checked again
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 @Value("${datasource.replicas.max-lag-ms:1000}") long maxLagMs,
+                                 @Value("${datasource.replicas.check-interval-ms:1000}") long checkIntervalMs,
+                                 @Value("${datasource.replicas.read-your-writes.max-users:100000}") long maxTrackedUsers,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicas,
+                Duration.ofMillis(maxLagMs + checkIntervalMs), maxTrackedUsers, meterRegistry));
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.check-interval-ms:1000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasUsable = replica.isUsable();
+            boolean usable = replica.check();
+            if (usable != wasUsable) {
+                log.info("Replica {} {} (lag {} ms)", replica.name(), usable ? "now takes reads" : "taken out of rotation",
+                        replica.lagMs());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void closeReplicas() {
+        replicas.forEach(replica -> replica.dataSource().close());
+    }
+}
@@ -1,5 +1,6 @@
 package com.event.management.event_management.dto;
 
+import com.event.management.event_management.entity.AttendeeStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,4 +14,5 @@ public class AttendeeDTO {
     private String username;  // Optional: User's name
     private Long eventId;
     private String eventTitle;  // Optional: Event title
+    private AttendeeStatus status;  // REGISTERED or WAITLISTED
 }
@@ -0,0 +1,22 @@
+package com.event.management.event_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegistrationResultDTO {
+
+    public enum Outcome {
+        REGISTERED,
+        ALREADY_REGISTERED,  // Registered or waitlisted before this request
+        USER_NOT_FOUND,
+        EVENT_FULL
+    }
+
+    private Long userId;
+    private Outcome outcome;
+    private Long attendeeId;  // Only set when the user was registered by this request
+}
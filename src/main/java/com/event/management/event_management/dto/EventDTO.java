@@ -1,9 +1,12 @@
 package com.event.management.event_management.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Data
@@ -19,6 +22,31 @@ public class EventDTO {
 
     private CreatorDTO creator;  // Only essential fields of the creator
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long seriesId;  // Set on occurrences of a series; id stays null until the occurrence is materialised
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer registeredCount;  // Seats taken, from the counter on the event row; never sent by clients
+
+    @JsonIgnore
+    private Long version;  // Entity version; feeds list ETags, sent to clients only as an ETag
+
+    @JsonIgnore
+    private Instant lastModifiedAt;  // Sent as Last-Modified on single-event reads; null for virtual occurrences
+
+    // Flat constructor used by JPQL constructor expressions in EventRepository
+    public EventDTO(Long id, String title, String description, String location, LocalDateTime eventDate,
+                    Integer capacity, Long creatorId, String creatorUsername, Long seriesId, Integer registeredCount,
+                    Long version, Instant lastModifiedAt) {
+        this(id, title, description, location, eventDate, capacity, new CreatorDTO(creatorId, creatorUsername),
+                seriesId, registeredCount, version, lastModifiedAt);
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Integer getRemainingSeats() {
+        return capacity == null || registeredCount == null ? null : Math.max(0, capacity - registeredCount);  // null means unlimited
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,15 @@
+package com.event.management.event_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPageDTO {
+    private List<EventDTO> events;
+    private String nextCursor;  // Pass back as ?cursor= to get the next page; null on the last page
+}
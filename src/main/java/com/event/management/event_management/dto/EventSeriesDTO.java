@@ -0,0 +1,52 @@
+package com.event.management.event_management.dto;
+
+import com.event.management.event_management.entity.RecurrenceFrequency;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSeriesDTO {
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long id;
+
+    private String title;
+    private String description;
+    private String location;
+    private Integer capacity;  // Per occurrence; null means unlimited
+
+    @NotNull(message = "The first start of the series is required")
+    private LocalDateTime firstStart;
+
+    @NotNull(message = "A frequency (DAILY, WEEKLY or MONTHLY) is required")
+    private RecurrenceFrequency frequency;
+
+    @Min(value = 1, message = "repeatEvery must be at least 1")
+    @Max(value = 365, message = "repeatEvery must be at most 365")
+    private Integer repeatEvery;  // Every n days, weeks or months; defaults to 1
+
+    private LocalDateTime repeatUntil;  // Last possible start; null repeats forever
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private EventDTO.CreatorDTO creator;
+
+    @JsonIgnore
+    private Long version;  // Carried by the virtual occurrences listed in the catalog
+
+    // Flat constructor used by JPQL constructor expressions in EventSeriesRepository
+    public EventSeriesDTO(Long id, String title, String description, String location, Integer capacity,
+                          LocalDateTime firstStart, RecurrenceFrequency frequency, Integer repeatEvery,
+                          LocalDateTime repeatUntil, Long creatorId, String creatorUsername, Long version) {
+        this(id, title, description, location, capacity, firstStart, frequency, repeatEvery, repeatUntil,
+                new EventDTO.CreatorDTO(creatorId, creatorUsername), version);
+    }
+}
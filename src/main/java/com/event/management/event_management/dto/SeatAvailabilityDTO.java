@@ -0,0 +1,21 @@
+package com.event.management.event_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAvailabilityDTO {
+    private Long eventId;
+    private Integer capacity;  // null means unlimited
+    private Integer registeredCount;
+    private Integer remainingSeats;  // null means unlimited
+
+    // Used by the JPQL constructor expression in EventRepository
+    public SeatAvailabilityDTO(Long eventId, Integer capacity, Integer registeredCount) {
+        this(eventId, capacity, registeredCount,
+                capacity == null ? null : Math.max(0, capacity - registeredCount));
+    }
+}
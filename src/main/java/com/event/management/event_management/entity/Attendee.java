@@ -4,19 +4,36 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendee_user_event", columnNames = {"user_id", "event_id"}),
+        indexes = {
+                @Index(name = "idx_attendee_event_status_position", columnList = "event_id, status, waitlist_position"),
+                @Index(name = "idx_attendee_event_id", columnList = "event_id, id")  // Created by db/migration V6
+        }
+)
 public class Attendee {
+    // Pooled sequence so Hibernate can batch inserts; 50 ids are reserved per round-trip
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendee_seq")
+    @SequenceGenerator(name = "attendee_seq", sequenceName = "attendee_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Event event;
+
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'REGISTERED'")
+    @Column(nullable = false)
+    private AttendeeStatus status = AttendeeStatus.REGISTERED;
+
+    private Long waitlistPosition;  // FIFO ticket while waitlisted, null once registered
 }
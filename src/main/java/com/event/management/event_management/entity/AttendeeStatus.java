@@ -0,0 +1,6 @@
+package com.event.management.event_management.entity;
+
+public enum AttendeeStatus {
+    REGISTERED,
+    WAITLISTED
+}
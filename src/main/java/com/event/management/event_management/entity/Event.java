@@ -4,13 +4,22 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {  // Created by db/migration V2
+        @Index(name = "idx_event_creator_date", columnList = "creator_id, event_date, id"),
+        @Index(name = "idx_event_date_id", columnList = "event_date, id"),
+        @Index(name = "uk_event_series_occurrence", columnList = "series_id, occurrence_start", unique = true),  // V8
+        @Index(name = "idx_event_last_modified", columnList = "last_modified_at")  // V9
+})
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,8 +29,40 @@ public class Event {
     private String description;
     private String location;
     private LocalDateTime eventDate;
-    private Integer capacity;
+    private Integer capacity;  // null means unlimited
 
-    @ManyToOne
+    // Seats taken; only ever changed by the conditional updates in EventRepository
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Integer registeredCount = 0;
+
+    // Last waitlist ticket handed out; taking a ticket also locks the event row
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long waitlistSeq = 0L;
+
+    // Bumped on every edit; a stale copy fails to save instead of overwriting a concurrent update
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Bumped with every seat update, i.e. whenever the registered-attendee list changes
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long attendeesVersion = 0L;
+
+    // Last edit of the event or change to its attendee list
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant lastModifiedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     private User creator;  // Event creator
+
+    // Set when this event is a materialised occurrence of a series
+    @ManyToOne(fetch = FetchType.LAZY)
+    private EventSeries series;
+
+    private LocalDateTime occurrenceStart;  // The rule's start time; eventDate may have been moved since
 }
@@ -0,0 +1,56 @@
+package com.event.management.event_management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A recurring event: the details every occurrence starts out with, and the rule that produces the
+ * occurrence start times. Occurrences are not stored; see db/migration V8.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class EventSeries {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String title;
+    private String description;
+    private String location;
+    private Integer capacity;  // Per occurrence; null means unlimited
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User creator;
+
+    @Column(nullable = false)
+    private LocalDateTime firstStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecurrenceFrequency frequency;
+
+    @Column(nullable = false)
+    private Integer repeatEvery;  // Every n days, weeks or months
+
+    private LocalDateTime repeatUntil;  // Last possible start; null repeats forever
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Cancelled occurrences
+    @ElementCollection
+    @CollectionTable(name = "event_series_exclusion", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "occurrence_start", nullable = false)
+    private Set<LocalDateTime> excludedStarts = new HashSet<>();
+}
@@ -0,0 +1,39 @@
+package com.event.management.event_management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_idempotency_key_expires", columnList = "expires_at"))  // Created by db/migration V7
+public class IdempotencyKey {
+    @Id
+    @Column(length = 64)
+    private String keyHash;  // SHA-256 of user ID and Idempotency-Key header
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;  // SHA-256 of method, path and body; a reused key must match it
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    private Integer responseStatus;
+
+    @Column(length = 100)
+    private String contentType;
+
+    private byte[] responseBody;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;  // Lock timeout while IN_PROGRESS, retention once COMPLETED
+}
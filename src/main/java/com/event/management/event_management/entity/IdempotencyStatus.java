@@ -0,0 +1,6 @@
+package com.event.management.event_management.entity;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,  // Claimed by a request that has not finished yet
+    COMPLETED
+}
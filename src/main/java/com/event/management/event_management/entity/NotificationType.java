@@ -0,0 +1,7 @@
+package com.event.management.event_management.entity;
+
+public enum NotificationType {
+    REGISTRATION_CONFIRMED,
+    REGISTRATION_CANCELLED,
+    EVENT_UPDATED  // Fans out to every attendee of the event
+}
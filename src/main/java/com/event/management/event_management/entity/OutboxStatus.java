@@ -0,0 +1,7 @@
+package com.event.management.event_management.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    DEAD  // Gave up after notifications.outbox.max-attempts
+}
@@ -0,0 +1,7 @@
+package com.event.management.event_management.entity;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY  // Same day of the month; the last day in shorter months
+}
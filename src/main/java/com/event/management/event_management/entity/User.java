@@ -9,7 +9,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "_user")
+@Table(name = "_user", indexes = {  // Created by db/migration V2
+        @Index(name = "uk_user_username", columnList = "username", unique = true),
+        @Index(name = "uk_user_email", columnList = "email", unique = true),
+        @Index(name = "idx_user_role", columnList = "role")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,12 @@
+package com.event.management.event_management.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.FORBIDDEN)  // Banned user presenting an otherwise valid credential
+public class AccountSuspendedException extends RuntimeException {
+
+    public AccountSuspendedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.event.management.event_management.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)  // User already holds a registration for the event
+public class AlreadyRegisteredException extends RuntimeException {
+
+    public AlreadyRegisteredException(String message) {
+        super(message);
+    }
+
+    public AlreadyRegisteredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
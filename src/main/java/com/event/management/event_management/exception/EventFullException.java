@@ -0,0 +1,12 @@
+package com.event.management.event_management.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)  // No seats left for the event
+public class EventFullException extends RuntimeException {
+
+    public EventFullException(String message) {
+        super(message);
+    }
+}
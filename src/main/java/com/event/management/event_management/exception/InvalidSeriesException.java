@@ -0,0 +1,12 @@
+package com.event.management.event_management.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)  // Bad recurrence rule, or a start time the rule doesn't produce
+public class InvalidSeriesException extends RuntimeException {
+
+    public InvalidSeriesException(String message) {
+        super(message);
+    }
+}
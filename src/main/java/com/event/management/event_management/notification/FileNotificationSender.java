@@ -0,0 +1,43 @@
+package com.event.management.event_management.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends notifications as NDJSON to notifications.file.path, one line each, for local runs and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.sender", havingValue = "file")
+public class FileNotificationSender implements NotificationSender {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileNotificationSender(ObjectMapper objectMapper,
+                                  @Value("${notifications.file.path:notifications.ndjson}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public synchronized void send(List<Notification> batch) throws IOException {
+        // One open and one write per batch, not per notification
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Notification notification : batch) {
+                writer.write(objectMapper.writeValueAsString(notification));
+                writer.newLine();
+            }
+        }
+    }
+}
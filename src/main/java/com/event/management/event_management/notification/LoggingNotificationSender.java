@@ -0,0 +1,26 @@
+package com.event.management.event_management.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default sender: writes each notification to the application log. Needs no external service.
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.sender", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationSender implements NotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    @Override
+    public void send(List<Notification> batch) {
+        for (Notification notification : batch) {
+            log.info("Notification {} {} for event {} ({}) to {} <{}>", notification.id(), notification.type(),
+                    notification.eventId(), notification.eventTitle(), notification.username(), notification.email());
+        }
+    }
+}
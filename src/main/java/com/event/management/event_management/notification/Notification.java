@@ -0,0 +1,11 @@
+package com.event.management.event_management.notification;
+
+import com.event.management.event_management.entity.NotificationType;
+
+/**
+ * One message to one recipient. The id is stable across redeliveries of the same outbox message,
+ * so receivers can drop duplicates: delivery is at-least-once.
+ */
+public record Notification(String id, NotificationType type, Long eventId, String eventTitle,
+                           Long userId, String username, String email) {
+}
@@ -0,0 +1,62 @@
+package com.event.management.event_management.notification;
+
+import com.event.management.event_management.entity.NotificationType;
+import com.event.management.event_management.entity.OutboxMessage;
+import com.event.management.event_management.repository.OutboxMessageRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records notifications in the outbox table as part of the caller's transaction, so they are
+ * sent if and only if the change that caused them commits. Nothing is delivered here; the
+ * insert is flushed with the rest of the transaction and the OutboxDispatcher picks it up.
+ */
+@Component
+public class NotificationOutbox {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+
+    public NotificationOutbox(OutboxMessageRepository outboxMessageRepository) {
+        this.outboxMessageRepository = outboxMessageRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrationConfirmed(Long eventId, Long userId) {
+        outboxMessageRepository.save(message(NotificationType.REGISTRATION_CONFIRMED, eventId, userId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrationsConfirmed(Long eventId, Collection<Long> userIds) {
+        List<OutboxMessage> messages = userIds.stream()
+                .map(userId -> message(NotificationType.REGISTRATION_CONFIRMED, eventId, userId))
+                .toList();
+        outboxMessageRepository.saveAll(messages);  // Batched with the attendee inserts
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrationCancelled(Long eventId, Long userId) {
+        outboxMessageRepository.save(message(NotificationType.REGISTRATION_CANCELLED, eventId, userId));
+    }
+
+    // One row however many attendees the event has; the dispatcher fans it out in batches
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventUpdated(Long eventId) {
+        outboxMessageRepository.save(message(NotificationType.EVENT_UPDATED, eventId, null));
+    }
+
+    private static OutboxMessage message(NotificationType type, Long eventId, Long userId) {
+        Instant now = Instant.now();
+        OutboxMessage message = new OutboxMessage();
+        message.setType(type);
+        message.setEventId(eventId);
+        message.setUserId(userId);
+        message.setNextAttemptAt(now);
+        message.setCreatedAt(now);
+        return message;
+    }
+}
@@ -0,0 +1,7 @@
+package com.event.management.event_management.notification;
+
+/**
+ * Attendee row projected for notification fan-out; attendeeId is the keyset position.
+ */
+public record NotificationRecipient(Long attendeeId, Long userId, String username, String email) {
+}
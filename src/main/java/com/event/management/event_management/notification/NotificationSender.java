@@ -0,0 +1,17 @@
+package com.event.management.event_management.notification;
+
+import java.util.List;
+
+/**
+ * Delivery channel for notifications (email, webhooks, ...). Exactly one implementation is
+ * used; the built-in ones are picked with notifications.sender=log|file. To plug in another
+ * channel, set notifications.sender to any other value and register a NotificationSender bean.
+ */
+public interface NotificationSender {
+
+    /**
+     * Deliver a batch. Throwing fails the whole batch, which the outbox dispatcher retries
+     * with backoff, so implementations must tolerate receiving a notification more than once.
+     */
+    void send(List<Notification> batch) throws Exception;
+}
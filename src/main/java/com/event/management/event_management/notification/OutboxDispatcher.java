@@ -0,0 +1,217 @@
+package com.event.management.event_management.notification;
+
+import com.event.management.event_management.entity.Event;
+import com.event.management.event_management.entity.NotificationType;
+import com.event.management.event_management.entity.OutboxMessage;
+import com.event.management.event_management.entity.User;
+import com.event.management.event_management.repository.AttendeeRepository;
+import com.event.management.event_management.repository.EventRepository;
+import com.event.management.event_management.repository.OutboxMessageRepository;
+import com.event.management.event_management.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers outbox messages through the configured NotificationSender, off the request path.
+ * <p>
+ * Each poll leases a batch of due messages (see OutboxMessageRepository#claimDue), so several
+ * instances can run side by side. Single-recipient messages of a batch are resolved with one
+ * user and one event query and sent as one batch. An EVENT_UPDATED message is fanned out to the
+ * event's attendees one keyset page at a time, recording its position after every page, so a
+ * failure part-way only resends the page that failed. Failed messages are retried with
+ * exponential backoff and jitter, and marked DEAD after notifications.outbox.max-attempts.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final AttendeeRepository attendeeRepository;
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final NotificationSender sender;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+
+    @Value("${notifications.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notifications.outbox.fanout-batch-size:500}")
+    private int fanoutBatchSize;
+
+    @Value("${notifications.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${notifications.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${notifications.outbox.backoff-initial-ms:1000}")
+    private long backoffInitialMs;
+
+    @Value("${notifications.outbox.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    @Value("${notifications.outbox.retention-days:7}")
+    private int retentionDays;
+
+    public OutboxDispatcher(OutboxMessageRepository outboxMessageRepository, AttendeeRepository attendeeRepository,
+                            UserRepository userRepository, EventRepository eventRepository,
+                            NotificationSender sender, MeterRegistry meterRegistry) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.attendeeRepository = attendeeRepository;
+        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.sender = sender;
+        this.sentCounter = Counter.builder("notifications.sent")
+                .description("Notifications handed to the sender successfully")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("notifications.outbox.failures")
+                .description("Outbox messages whose delivery failed")
+                .tag("outcome", "retry")
+                .register(meterRegistry);
+        this.deadCounter = Counter.builder("notifications.outbox.failures")
+                .description("Outbox messages whose delivery failed")
+                .tag("outcome", "dead")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drain everything that is due, one leased batch at a time.
+     */
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-ms:1000}")
+    public void dispatch() {
+        List<OutboxMessage> claimed;
+        do {
+            claimed = outboxMessageRepository.claimDue(Instant.now(), leaseUntil(), batchSize);
+
+            List<OutboxMessage> direct = new ArrayList<>();
+            for (OutboxMessage message : claimed) {
+                if (message.getType() == NotificationType.EVENT_UPDATED) {
+                    fanOut(message);
+                } else {
+                    direct.add(message);
+                }
+            }
+            if (!direct.isEmpty()) {
+                sendDirect(direct);
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.cleanup-interval-ms:3600000}")
+    public void deleteDelivered() {
+        int deleted = outboxMessageRepository.deleteSentBefore(Instant.now().minus(Duration.ofDays(retentionDays)));
+        if (deleted > 0) {
+            log.info("Deleted {} delivered outbox messages", deleted);
+        }
+    }
+
+    // All single-recipient messages of a claimed batch in one send
+    private void sendDirect(List<OutboxMessage> messages) {
+        Set<Long> userIds = messages.stream().map(OutboxMessage::getUserId).collect(Collectors.toSet());
+        Set<Long> eventIds = messages.stream().map(OutboxMessage::getEventId).collect(Collectors.toSet());
+        try {
+            Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity()));
+            Map<Long, Event> events = eventRepository.findAllById(eventIds).stream()
+                    .collect(Collectors.toMap(Event::getId, Function.identity()));
+
+            List<Notification> batch = new ArrayList<>(messages.size());
+            for (OutboxMessage message : messages) {
+                User user = users.get(message.getUserId());
+                if (user == null) {
+                    continue;  // Account deleted since; nobody to notify
+                }
+                Event event = events.get(message.getEventId());
+                batch.add(new Notification(message.getId() + "-" + user.getId(), message.getType(),
+                        message.getEventId(), event == null ? null : event.getTitle(),
+                        user.getId(), user.getUsername(), user.getEmail()));
+            }
+
+            if (!batch.isEmpty()) {
+                sender.send(batch);
+                sentCounter.increment(batch.size());
+            }
+            outboxMessageRepository.markSent(messages.stream().map(OutboxMessage::getId).toList(), Instant.now());
+        } catch (Exception e) {
+            messages.forEach(message -> retryOrGiveUp(message, e));
+        }
+    }
+
+    private void fanOut(OutboxMessage message) {
+        try {
+            String eventTitle = eventRepository.findById(message.getEventId()).map(Event::getTitle).orElse(null);
+            long cursor = message.getFanoutCursor() == null ? 0L : message.getFanoutCursor();
+            List<NotificationRecipient> page;
+            do {
+                page = attendeeRepository.findNotificationRecipients(
+                        message.getEventId(), cursor, PageRequest.of(0, fanoutBatchSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                List<Notification> batch = new ArrayList<>(page.size());
+                for (NotificationRecipient recipient : page) {
+                    batch.add(new Notification(message.getId() + "-" + recipient.userId(), message.getType(),
+                            message.getEventId(), eventTitle,
+                            recipient.userId(), recipient.username(), recipient.email()));
+                }
+                sender.send(batch);
+                sentCounter.increment(batch.size());
+
+                cursor = page.get(page.size() - 1).attendeeId();
+                outboxMessageRepository.saveFanoutProgress(message.getId(), cursor, leaseUntil());
+            } while (page.size() == fanoutBatchSize);
+
+            outboxMessageRepository.markSent(List.of(message.getId()), Instant.now());
+        } catch (Exception e) {
+            retryOrGiveUp(message, e);
+        }
+    }
+
+    // Attempts were counted when the message was claimed
+    private void retryOrGiveUp(OutboxMessage message, Exception e) {
+        String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+        if (message.getAttempts() >= maxAttempts) {
+            outboxMessageRepository.markDead(message.getId(), error);
+            deadCounter.increment();
+            log.error("Giving up on outbox message {} ({}) after {} attempts: {}",
+                    message.getId(), message.getType(), message.getAttempts(), error);
+            return;
+        }
+
+        // Exponential backoff with jitter so a recovering receiver is not hit by every retry at once
+        long delay = Math.min(backoffMaxMs, backoffInitialMs << Math.min(message.getAttempts() - 1, 30));
+        delay = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        outboxMessageRepository.scheduleRetry(message.getId(), Instant.now().plusMillis(delay), error);
+        retryCounter.increment();
+        log.warn("Outbox message {} ({}) failed on attempt {}, retrying in {} ms: {}",
+                message.getId(), message.getType(), message.getAttempts(), delay, error);
+    }
+
+    private Instant leaseUntil() {
+        return Instant.now().plusMillis(leaseMs);
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= 500 ? error : error.substring(0, 500);
+    }
+}
@@ -1,12 +1,61 @@
 package com.event.management.event_management.repository;
 
+import com.event.management.event_management.dto.AttendeeDTO;
 import com.event.management.event_management.entity.Attendee;
+import com.event.management.event_management.entity.AttendeeStatus;
+import com.event.management.event_management.notification.NotificationRecipient;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface AttendeeRepository extends JpaRepository<Attendee, Long> {
     List<Attendee> findByEventId(Long eventId);  // Find attendees for a specific event
     Optional<Attendee> findByUserIdAndEventId(Long userId, Long eventId);  // Check if user already registered
+
+    // Single-statement DTO projection of an event's attendees, without loading User or Event entities
+    @Query("SELECT new com.event.management.event_management.dto.AttendeeDTO(" +
+            "a.id, u.id, u.username, e.id, e.title, a.status) " +
+            "FROM Attendee a JOIN a.user u JOIN a.event e " +
+            "WHERE e.id = :eventId AND a.status = :status ORDER BY a.id")
+    List<AttendeeDTO> findDtoByEventIdAndStatus(Long eventId, AttendeeStatus status);
+
+    // Same projection read through a JDBC cursor for exports; must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.event.management.event_management.dto.AttendeeDTO(" +
+            "a.id, u.id, u.username, e.id, e.title, a.status) " +
+            "FROM Attendee a JOIN a.user u JOIN a.event e " +
+            "WHERE e.id = :eventId AND a.status = :status ORDER BY a.id")
+    Stream<AttendeeDTO> streamDtoByEventIdAndStatus(Long eventId, AttendeeStatus status);
+
+    // Head of the waitlist; served by the (event_id, status, waitlist_position) index
+    Optional<Attendee> findFirstByEventIdAndStatusOrderByWaitlistPositionAsc(Long eventId, AttendeeStatus status);
+
+    // Index-only count on (event_id, status, waitlist_position); used to repair a drifted seat counter
+    long countByEventIdAndStatus(Long eventId, AttendeeStatus status);
+
+    long countByEventIdAndStatusAndWaitlistPositionLessThan(Long eventId, AttendeeStatus status, Long waitlistPosition);
+
+    // Set-based duplicate check for bulk registration, registered or waitlisted
+    @Query("SELECT a.user.id FROM Attendee a WHERE a.event.id = :eventId AND a.user.id IN :userIds")
+    Set<Long> findUserIdsByEventIdAndUserIdIn(Long eventId, Collection<Long> userIds);
+
+    // Keyset page of an event's attendees (registered and waitlisted) over the (event_id, id) index
+    @Query("SELECT new com.event.management.event_management.notification.NotificationRecipient(" +
+            "a.id, u.id, u.username, u.email) " +
+            "FROM Attendee a JOIN a.user u WHERE a.event.id = :eventId AND a.id > :afterId ORDER BY a.id")
+    List<NotificationRecipient> findNotificationRecipients(Long eventId, Long afterId, Pageable limit);
 }
@@ -1,14 +1,130 @@
 package com.event.management.event_management.repository;
 
+import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.dto.SeatAvailabilityDTO;
 import com.event.management.event_management.entity.Event;
+import com.event.management.event_management.service.AttendeeListVersion;
+import com.event.management.event_management.service.SeatCountCheck;
+import com.event.management.event_management.service.SeriesOccurrence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+public interface EventRepository extends JpaRepository<Event, Long>, EventSearchRepository {
+
+    // Single-statement DTO projection: reads only the creator's id and username, never the full User row
+    String SELECT_EVENT_DTO = "SELECT new com.event.management.event_management.dto.EventDTO(" +
+            "e.id, e.title, e.description, e.location, e.eventDate, e.capacity, c.id, c.username, e.series.id, e.registeredCount, e.version, " +
+            "e.lastModifiedAt) " +
+            "FROM Event e LEFT JOIN e.creator c ";
+
+    // Every seat update changes the registered-attendee list, so it also invalidates that list's ETag
+    String BUMP_ATTENDEES_VERSION = "e.attendeesVersion = e.attendeesVersion + 1, e.lastModifiedAt = CURRENT_TIMESTAMP ";
 
-public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findByCreatorId(Long creatorId);
 
-    @Query("SELECT e FROM Event e JOIN Attendee a ON e.id = a.event.id WHERE a.user.id = :userId")
+    boolean existsByIdAndCreatorUsername(Long id, String username);
+
+    @Query(SELECT_EVENT_DTO + "WHERE e.id = :eventId")
+    Optional<EventDTO> findDtoById(Long eventId);
+
+    @Query(SELECT_EVENT_DTO + "WHERE c.id = :creatorId ORDER BY e.eventDate, e.id")
+    List<EventDTO> findDtoByCreatorId(Long creatorId);
+
+    @Query(SELECT_EVENT_DTO + "JOIN Attendee a ON a.event = e WHERE a.user.id = :userId " +
+            "AND a.status = com.event.management.event_management.entity.AttendeeStatus.REGISTERED " +
+            "ORDER BY e.eventDate, e.id")
+    List<EventDTO> findRegisteredDtoByUserId(Long userId);
+
+    @Query("SELECT e FROM Event e JOIN Attendee a ON e.id = a.event.id WHERE a.user.id = :userId " +
+            "AND a.status = com.event.management.event_management.entity.AttendeeStatus.REGISTERED")
     List<Event> findEventsByUserId(Long userId);
+
+    // Keyset pagination over (eventDate, id); pass an unsorted PageRequest.of(0, n) as the limit
+    @Query(SELECT_EVENT_DTO + "WHERE e.eventDate IS NOT NULL ORDER BY e.eventDate, e.id")
+    List<EventDTO> findDatedFirstPage(Pageable limit);
+
+    @Query(SELECT_EVENT_DTO + "WHERE e.eventDate > :eventDate OR (e.eventDate = :eventDate AND e.id > :id) " +
+            "ORDER BY e.eventDate, e.id")
+    List<EventDTO> findDatedPageAfter(LocalDateTime eventDate, Long id, Pageable limit);
+
+    // Undated events come after all dated ones
+    @Query(SELECT_EVENT_DTO + "WHERE e.eventDate IS NULL AND e.id > :id ORDER BY e.id")
+    List<EventDTO> findUndatedPageAfter(Long id, Pageable limit);
+
+    @Query("SELECT new com.event.management.event_management.dto.SeatAvailabilityDTO(e.id, e.capacity, e.registeredCount) " +
+            "FROM Event e WHERE e.id IN :eventIds")
+    List<SeatAvailabilityDTO> findSeatAvailability(Collection<Long> eventIds);
+
+    // Take a seat only if one is left; returns 0 when the event is full or missing.
+    // The row lock taken by the UPDATE serialises registrations per event, not globally.
+    @Modifying
+    @Query("UPDATE Event e SET e.registeredCount = e.registeredCount + 1, " + BUMP_ATTENDEES_VERSION +
+            "WHERE e.id = :eventId AND (e.capacity IS NULL OR e.registeredCount < e.capacity)")
+    int reserveSeat(Long eventId);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.registeredCount = e.registeredCount - 1, " + BUMP_ATTENDEES_VERSION + "WHERE e.id = :eventId AND e.registeredCount > 0")
+    int releaseSeat(Long eventId);
+
+    // Bulk registration: caller holds the event row lock and has already checked capacity
+    @Modifying
+    @Query("UPDATE Event e SET e.registeredCount = e.registeredCount + :seats, " + BUMP_ATTENDEES_VERSION + "WHERE e.id = :eventId")
+    int addSeats(Long eventId, int seats);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.waitlistSeq = e.waitlistSeq + 1 WHERE e.id = :eventId")
+    int takeWaitlistTicket(Long eventId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :eventId")
+    Optional<Event> findLockedById(Long eventId);
+
+    // Validates a cached attendee list with one primary-key read, without touching attendee rows
+    @Query("SELECT new com.event.management.event_management.service.AttendeeListVersion(" +
+            "e.version, e.attendeesVersion, e.lastModifiedAt) FROM Event e WHERE e.id = :eventId")
+    Optional<AttendeeListVersion> findAttendeeListVersion(Long eventId);
+
+    @Query("SELECT e.waitlistSeq FROM Event e WHERE e.id = :eventId")
+    Long findWaitlistSeq(Long eventId);
+
+    // Seat-count reconciler: the counter next to the actual number of registered attendees, read in
+    // one snapshot, so a registration committed in between can't look like drift
+    @Query("SELECT new com.event.management.event_management.service.SeatCountCheck(e.id, e.registeredCount, " +
+            "(SELECT COUNT(a) FROM Attendee a WHERE a.event = e " +
+            "AND a.status = com.event.management.event_management.entity.AttendeeStatus.REGISTERED)) " +
+            "FROM Event e WHERE e.id IN :eventIds")
+    List<SeatCountCheck> checkSeatCounts(Collection<Long> eventIds);
+
+    // Most recently changed first, from idx_event_last_modified; every seat update also sets lastModifiedAt
+    @Query("SELECT e.id FROM Event e WHERE e.lastModifiedAt >= :since ORDER BY e.lastModifiedAt DESC")
+    List<Long> findIdsModifiedSince(Instant since, Pageable limit);
+
+    @Query("SELECT e.id FROM Event e WHERE e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsAfter(Long afterId, Pageable limit);
+
+    // Repair only: caller holds the event row lock and has just counted the attendees
+    @Modifying
+    @Query("UPDATE Event e SET e.registeredCount = :registeredCount, " + BUMP_ATTENDEES_VERSION + "WHERE e.id = :eventId")
+    int setRegisteredCount(Long eventId, int registeredCount);
+
+    @Query(SELECT_EVENT_DTO + "WHERE e.id IN :eventIds")
+    List<EventDTO> findDtoByIdIn(Collection<Long> eventIds);
+
+    // Occurrences of the given series that are event rows, by their rule start time
+    @Query("SELECT new com.event.management.event_management.service.SeriesOccurrence(e.series.id, e.occurrenceStart, e.id) " +
+            "FROM Event e WHERE e.series.id IN :seriesIds AND e.occurrenceStart BETWEEN :from AND :to")
+    List<SeriesOccurrence> findMaterializedBetween(Collection<Long> seriesIds, LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT e.id FROM Event e WHERE e.series.id = :seriesId AND e.occurrenceStart = :start")
+    Optional<Long> findIdBySeriesIdAndOccurrenceStart(Long seriesId, LocalDateTime start);
 }
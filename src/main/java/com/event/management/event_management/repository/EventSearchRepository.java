@@ -0,0 +1,13 @@
+package com.event.management.event_management.repository;
+
+import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.service.EventCursor;
+import com.event.management.event_management.service.EventSearchCriteria;
+
+import java.util.List;
+
+// Native PostgreSQL search fragment of EventRepository; only the filters that are set end up in the SQL
+public interface EventSearchRepository {
+
+    List<EventDTO> searchEvents(EventSearchCriteria criteria, EventCursor after, int limit);
+}
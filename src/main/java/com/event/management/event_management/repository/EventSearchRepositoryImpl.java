@@ -0,0 +1,89 @@
+package com.event.management.event_management.repository;
+
+import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.service.EventCursor;
+import com.event.management.event_management.service.EventSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+public class EventSearchRepositoryImpl implements EventSearchRepository {
+
+    private final EntityManager entityManager;
+
+    public EventSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Keyset search over (event_date, id). The date range and keyset predicates are served by the
+     * (event_date, id) index, location by (lower(location), event_date, id) and keywords by the GIN
+     * index on the generated search_vector column (see db/migration V3). Predicates for unset
+     * filters are left out of the SQL rather than disabled with "IS NULL OR", so every combination
+     * gets its own plan. Must run inside a transaction: the plan-cache setting is transaction-local.
+     */
+    @Override
+    public List<EventDTO> searchEvents(EventSearchCriteria criteria, EventCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT e.id, e.title, e.description, e.location, e.event_date, e.capacity, " +
+                "c.id AS creator_id, c.username AS creator_username, e.series_id, e.registered_count, e.version, " +
+                "e.last_modified_at " +
+                "FROM event e LEFT JOIN _user c ON c.id = e.creator_id " +
+                "WHERE e.event_date >= :from AND e.event_date < :to ");
+        if (after != null) {
+            sql.append("AND (e.event_date, e.id) > (:afterDate, :afterId) ");
+        }
+        if (criteria.location() != null) {
+            sql.append("AND lower(e.location) = lower(:location) ");
+        }
+        if (criteria.keywords() != null) {
+            sql.append("AND e.search_vector @@ websearch_to_tsquery('english', :keywords) ");
+        }
+        sql.append("ORDER BY e.event_date, e.id LIMIT :limit");
+
+        // Once the driver switches to server-side prepared statements Postgres may reuse a generic plan,
+        // which cannot tell a rare keyword from a common one; plan each search for its actual values
+        entityManager.createNativeQuery("SELECT set_config('plan_cache_mode', 'force_custom_plan', true)")
+                .getSingleResult();
+
+        Query query = entityManager.createNativeQuery(sql.toString(), Tuple.class)
+                .setParameter("from", criteria.from())
+                .setParameter("to", criteria.to())
+                .setParameter("limit", limit);
+        if (after != null) {
+            query.setParameter("afterDate", after.eventDate()).setParameter("afterId", after.id());
+        }
+        if (criteria.location() != null) {
+            query.setParameter("location", criteria.location());
+        }
+        if (criteria.keywords() != null) {
+            query.setParameter("keywords", criteria.keywords());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = query.getResultList();
+        return rows.stream().map(EventSearchRepositoryImpl::toDto).toList();
+    }
+
+    private static EventDTO toDto(Tuple row) {
+        Timestamp eventDate = row.get("event_date", Timestamp.class);  // Native queries return JDBC types
+        return new EventDTO(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("location", String.class),
+                eventDate.toLocalDateTime(),  // Never null: the date window excludes undated events
+                row.get("capacity", Integer.class),
+                row.get("creator_id", Long.class),
+                row.get("creator_username", String.class),
+                row.get("series_id", Long.class),
+                row.get("registered_count", Integer.class),
+                row.get("version", Long.class),
+                row.get("last_modified_at", Instant.class)
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package com.event.management.event_management.repository;
+
+import com.event.management.event_management.dto.EventSeriesDTO;
+import com.event.management.event_management.entity.EventSeries;
+import com.event.management.event_management.service.SeriesOccurrence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventSeriesRepository extends JpaRepository<EventSeries, Long> {
+
+    String SELECT_SERIES_DTO = "SELECT new com.event.management.event_management.dto.EventSeriesDTO(" +
+            "s.id, s.title, s.description, s.location, s.capacity, s.firstStart, s.frequency, s.repeatEvery, " +
+            "s.repeatUntil, c.id, c.username, s.version) " +
+            "FROM EventSeries s LEFT JOIN s.creator c ";
+
+    @Query(SELECT_SERIES_DTO + "WHERE s.id = :seriesId")
+    Optional<EventSeriesDTO> findDtoById(Long seriesId);
+
+    // Series whose rule can produce a start inside the window
+    @Query(SELECT_SERIES_DTO + "WHERE s.firstStart <= :to AND (s.repeatUntil IS NULL OR s.repeatUntil >= :from) " +
+            "ORDER BY s.id")
+    List<EventSeriesDTO> findDtoActiveBetween(LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT new com.event.management.event_management.service.SeriesOccurrence(s.id, x) " +
+            "FROM EventSeries s JOIN s.excludedStarts x WHERE s.id IN :seriesIds AND x BETWEEN :from AND :to")
+    List<SeriesOccurrence> findExcludedBetween(Collection<Long> seriesIds, LocalDateTime from, LocalDateTime to);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM event_series_exclusion " +
+            "WHERE series_id = :seriesId AND occurrence_start = :start)", nativeQuery = true)
+    boolean isExcluded(Long seriesId, LocalDateTime start);
+
+    @Modifying
+    @Query(value = "INSERT INTO event_series_exclusion (series_id, occurrence_start) VALUES (:seriesId, :start) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addExclusion(Long seriesId, LocalDateTime start);
+
+    // Creates the occurrence's event row from the series unless it already exists or was cancelled.
+    // The unique (series_id, occurrence_start) index makes concurrent calls create it exactly once.
+    @Modifying
+    @Query(value = "INSERT INTO event (title, description, location, event_date, capacity, creator_id, " +
+            "series_id, occurrence_start) " +
+            "SELECT s.title, s.description, s.location, :start, s.capacity, s.creator_id, s.id, :start " +
+            "FROM event_series s WHERE s.id = :seriesId AND NOT EXISTS (SELECT 1 FROM event_series_exclusion x " +
+            "WHERE x.series_id = s.id AND x.occurrence_start = :start) " +
+            "ON CONFLICT (series_id, occurrence_start) DO NOTHING", nativeQuery = true)
+    int materialize(Long seriesId, LocalDateTime start);
+}
@@ -0,0 +1,54 @@
+package com.event.management.event_management.repository;
+
+import com.event.management.event_management.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+// Claims and releases commit on their own, around the request; complete joins the request's
+// transaction, so the recorded response commits together with the write it describes
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // Returns 1 if this caller now owns the key: it was free, or its previous claim has expired.
+    // The primary key makes concurrent claims of the same key race safely inside the database.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_key (key_hash, request_hash, status, created_at, expires_at) " +
+            "VALUES (:keyHash, :requestHash, 'IN_PROGRESS', :now, :lockUntil) " +
+            "ON CONFLICT (key_hash) DO UPDATE SET request_hash = EXCLUDED.request_hash, status = 'IN_PROGRESS', " +
+            "response_status = NULL, content_type = NULL, response_body = NULL, " +
+            "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_key.expires_at < :now", nativeQuery = true)
+    int claim(String keyHash, String requestHash, Instant now, Instant lockUntil);
+
+    // Read-write, so it is answered by the primary even with read replicas: it must see the
+    // claim that was just lost, not a replica that hasn't replayed it yet
+    @Override
+    @Transactional
+    Optional<IdempotencyKey> findById(String keyHash);
+
+    // Matches only the claim made at claimedAt: a claim that expired and was taken over is no longer ours
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.status = com.event.management.event_management.entity.IdempotencyStatus.COMPLETED, " +
+            "k.responseStatus = :responseStatus, k.contentType = :contentType, k.responseBody = :responseBody, " +
+            "k.expiresAt = :expiresAt WHERE k.keyHash = :keyHash AND k.createdAt = :claimedAt " +
+            "AND k.status = com.event.management.event_management.entity.IdempotencyStatus.IN_PROGRESS")
+    int complete(String keyHash, Instant claimedAt, int responseStatus, String contentType, byte[] responseBody,
+                 Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.keyHash = :keyHash AND k.createdAt = :claimedAt " +
+            "AND k.status = com.event.management.event_management.entity.IdempotencyStatus.IN_PROGRESS")
+    int release(String keyHash, Instant claimedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
@@ -0,0 +1,53 @@
+package com.event.management.event_management.repository;
+
+import com.event.management.event_management.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+// The dispatcher runs outside any service transaction, so each statement commits on its own
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Lease due messages: SKIP LOCKED lets several instances claim disjoint batches, and pushing
+    // next_attempt_at past the lease hides the rows from other dispatchers until it runs out
+    @Transactional
+    @Query(value = "UPDATE outbox_message SET attempts = attempts + 1, next_attempt_at = :leaseUntil " +
+            "WHERE id IN (SELECT id FROM outbox_message WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *", nativeQuery = true)
+    List<OutboxMessage> claimDue(Instant now, Instant leaseUntil, int limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = com.event.management.event_management.entity.OutboxStatus.SENT, " +
+            "m.sentAt = :now, m.lastError = NULL WHERE m.id IN :ids")
+    int markSent(Collection<Long> ids, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.nextAttemptAt = :nextAttemptAt, m.lastError = :error WHERE m.id = :id")
+    int scheduleRetry(Long id, Instant nextAttemptAt, String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = com.event.management.event_management.entity.OutboxStatus.DEAD, " +
+            "m.lastError = :error WHERE m.id = :id")
+    int markDead(Long id, String error);
+
+    // Records fan-out progress and renews the lease in one statement
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.fanoutCursor = :cursor, m.nextAttemptAt = :leaseUntil WHERE m.id = :id")
+    int saveFanoutProgress(Long id, Long cursor, Instant leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = com.event.management.event_management.entity.OutboxStatus.SENT " +
+            "AND m.sentAt < :cutoff")
+    int deleteSentBefore(Instant cutoff);
+}
@@ -3,8 +3,11 @@ package com.event.management.event_management.repository;
 import com.event.management.event_management.entity.Role;
 import com.event.management.event_management.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -13,4 +16,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByRole(Role role);  // Check if any admin exists
 
     Optional<User> findByUsername(String username);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
@@ -2,11 +2,15 @@ package com.event.management.event_management.security;
 
 
 import com.event.management.event_management.service.CustomUserDetailsService;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -18,28 +22,89 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean stateless;  // Build the principal from token claims instead of loading the user
+    private final MeterRegistry meterRegistry;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, CustomUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, CustomUserDetailsService userDetailsService,
+                                   TokenRevocationService tokenRevocationService, boolean stateless,
+                                   MeterRegistry meterRegistry) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.stateless = stateless;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = authenticate(request);
+        sample.stop(Timer.builder("jwt.filter")
+                .description("Time spent authenticating a request from its bearer token")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String authenticate(HttpServletRequest request) {
         String token = getJwtFromRequest(request);
+        if (token == null) {
+            return "anonymous";
+        }
+
+        JwtClaims claims = verify(token);
+        if (claims == null) {
+            return "invalid";
+        }
+        if (tokenRevocationService.isRevoked(claims.username(), claims.issuedAt())) {
+            return "revoked";
+        }
+
+        UserPrincipal principal = stateless ? principalFromClaims(claims) : principalFromDatabase(claims);
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsernameFromToken(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        var authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-            var authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return "authenticated";
+    }
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+    private JwtClaims verify(String token) {
+        try {
+            return jwtTokenProvider.verifyAndParse(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
+    }
 
-        filterChain.doFilter(request, response);
+    /**
+     * Trust the verified token: username, user ID and roles all come from its claims.
+     */
+    private UserPrincipal principalFromClaims(JwtClaims claims) {
+        String roles = claims.roles();
+        return new UserPrincipal(
+                claims.userId(),
+                claims.username(),
+                "",
+                AuthorityUtils.commaSeparatedStringToAuthorityList(roles == null ? "" : roles)
+        );
+    }
+
+    /**
+     * Re-load the user on every request so role changes take effect immediately.
+     */
+    private UserPrincipal principalFromDatabase(JwtClaims claims) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.username());
+        return new UserPrincipal(
+                userDetails instanceof UserPrincipal loaded ? loaded.getId() : claims.userId(),
+                userDetails.getUsername(),
+                "",
+                userDetails.getAuthorities()
+        );
     }
 
     private String getJwtFromRequest(HttpServletRequest request) {
@@ -0,0 +1,9 @@
+package com.event.management.event_management.security;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a verified JWT's claims.
+ */
+public record JwtClaims(String username, Long userId, String roles, Instant issuedAt, Instant expiresAt) {
+}
@@ -1,12 +1,21 @@
 package com.event.management.event_management.security;
 
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Serializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
 import java.util.Date;
+import java.util.Map;
+import java.util.ServiceLoader;
 import java.util.stream.Collectors;
 
 @Component
@@ -18,50 +27,118 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long EXPIRATION_TIME;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final MeterRegistry meterRegistry;
+    private final Timer generateTimer;
+
+    private JwtParser parser;  // Thread-safe, built once instead of per call
+    private Key signingKey;
+    private Serializer<Map<String, ?>> serializer;
+
+    public JwtTokenProvider(VerifiedTokenCache verifiedTokenCache, MeterRegistry meterRegistry) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.meterRegistry = meterRegistry;
+        this.generateTimer = Timer.builder("jwt.generate")
+                .description("Time to build and sign an access token")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void initParser() {
+        parser = Jwts.parserBuilder()
+                .setSigningKey(SECRET_KEY)
+                .build();
+
+        // Resolved once: by default every builder looks up its JSON serializer and decodes the key again
+        signingKey = new SecretKeySpec(Decoders.BASE64.decode(SECRET_KEY), SignatureAlgorithm.HS256.getJcaName());
+        @SuppressWarnings("unchecked")  // ServiceLoader only hands out the raw Serializer type
+        Serializer<Map<String, ?>> jsonSerializer = (Serializer<Map<String, ?>>) ServiceLoader.load(Serializer.class)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No JWT JSON serializer on the classpath"));
+        serializer = jsonSerializer;
+    }
+
     /**
      * Generate JWT Token with userId and roles.
      */
     public String generateToken(Authentication authentication, Long userId) {
-        String username = authentication.getName();
         String roles = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
+        return generateToken(authentication.getName(), roles, userId);
+    }
 
-        return Jwts.builder()
+    /**
+     * Generate JWT Token for a user that was not authenticated by password (refresh flow).
+     */
+    public String generateToken(String username, String roles, Long userId) {
+        return generateTimer.record(() -> Jwts.builder()
+                .serializeToJsonWith(serializer)
                 .setSubject(username)
                 .claim("roles", roles)
                 .claim("userId", userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
-                .compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact());
+    }
+
+    /**
+     * Verify the token signature and expiry once and return its claims.
+     * Repeated calls with the same token are served from the verified-token cache.
+     *
+     * @throws JwtException if the token is malformed, expired or has an invalid signature
+     */
+    public JwtClaims verifyAndParse(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT token cannot be null or empty");
+        }
+        return verifiedTokenCache.get(token, this::parse);
+    }
+
+    // Cache miss: the actual signature check, timed with its outcome
+    private JwtClaims parse(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try {
+            JwtClaims claims = toClaims(parser.parseClaimsJws(token).getBody());
+            outcome = "valid";
+            return claims;
+        } catch (ExpiredJwtException e) {
+            outcome = "expired";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("jwt.verify")
+                    .description("Time to verify a token signature on a cache miss")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private static JwtClaims toClaims(Claims claims) {
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("roles", String.class),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant()
+        );
     }
 
     /**
      * Extract Username from JWT Token.
      */
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return verifyAndParse(token).username();
     }
 
     /**
      * Extract User ID from JWT Token.
      */
     public Long getUserIdFromToken(String token) {
-        if (token == null || token.isEmpty()) {
-            throw new IllegalArgumentException("JWT token cannot be null or empty");
-        }
-
-        Claims claims = Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.get("userId", Long.class);  // Ensure userId exists in token claims
+        return verifyAndParse(token).userId();  // Ensure userId exists in token claims
     }
 
 
@@ -69,11 +146,7 @@ public class JwtTokenProvider {
      * Extract Roles from JWT Token.
      */
     public String getRolesFromToken(String token) {
-        return (String) Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token)
-                .getBody()
-                .get("roles");
+        return verifyAndParse(token).roles();
     }
 
     /**
@@ -81,7 +154,7 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token);
+            verifyAndParse(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -0,0 +1,83 @@
+package com.event.management.event_management.security;
+
+import com.event.management.event_management.exception.LoginThrottledException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password checks (BCrypt) on a small dedicated pool instead of the request threads.
+ * Login storms then queue up to a fixed depth and are refused beyond it, instead of every
+ * request thread burning CPU on hashing at the same time.
+ */
+@Component
+public class PasswordVerificationExecutor {
+
+    private final AuthenticationManager authenticationManager;
+    private final ExecutorService executor;
+
+    public PasswordVerificationExecutor(AuthenticationManager authenticationManager,
+                                        @Value("${auth.password.pool-size:0}") int poolSize,
+                                        @Value("${auth.password.queue-capacity:200}") int queueCapacity,
+                                        MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();  // Hashing is CPU-bound
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "auth.password");
+    }
+
+    /**
+     * Authenticate on the pool and wait for the result.
+     *
+     * @throws LoginThrottledException when the pool and its queue are full
+     */
+    public Authentication authenticate(Authentication request) {
+        Future<Authentication> result;
+        try {
+            result = executor.submit(() -> authenticationManager.authenticate(request));
+        } catch (RejectedExecutionException e) {
+            throw new LoginThrottledException("Too many login attempts in progress, please retry shortly");
+        }
+
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AuthenticationException authenticationException) {
+                throw authenticationException;  // Bad credentials etc. keep their usual handling
+            }
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying password", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
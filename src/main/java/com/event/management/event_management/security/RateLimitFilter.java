@@ -0,0 +1,74 @@
+package com.event.management.event_management.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the rate-limit.* route policies right after JwtAuthenticationFilter, so buckets can be
+ * keyed by the user ID from the token. Anonymous requests, and IP-keyed policies such as login,
+ * are keyed by the client address. Requests over the limit get 429 with Retry-After.
+ * Requests that match no policy only pay for a method comparison.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final Map<String, Counter> rejected = new HashMap<>();
+
+    public RateLimitFilter(RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        for (RateLimiter.Route route : rateLimiter.routes()) {
+            rejected.put(route.name(), Counter.builder("http.server.requests.rate.limited")
+                    .description("Requests rejected by a rate-limit policy")
+                    .tag("policy", route.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.Route route = rateLimiter.match(request.getMethod(), request.getRequestURI());
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = route.tryAcquire(keyFor(route, request), System.nanoTime());
+        if (waitNanos == RateLimiter.ALLOWED) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected.get(route.name()).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"status\":\"error\",\"message\":\"Too many requests, please retry later\"}");
+    }
+
+    // Long user IDs and String addresses never collide as keys of the same bucket cache
+    private static Object keyFor(RateLimiter.Route route, HttpServletRequest request) {
+        if (route.keyType() == RateLimitProperties.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                    && principal.getId() != null) {
+                return principal.getId();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
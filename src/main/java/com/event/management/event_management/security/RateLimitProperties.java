@@ -0,0 +1,37 @@
+package com.event.management.event_management.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-route rate limits, bound from rate-limit.* in application.properties. Each policy is a
+ * token bucket of {@code capacity} requests that gets one request back every {@code refillInterval}.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private long maxKeys = 100_000;  // Buckets kept per policy; the least recently used go first
+
+    private Map<String, Policy> policies = new LinkedHashMap<>();  // First matching policy applies
+
+    @Data
+    public static class Policy {
+        private String method;  // HTTP method, or null for any
+        private String path;  // Spring path pattern, e.g. /api/attendees/register/*
+        private KeyType key = KeyType.USER;
+        private int capacity = 10;  // Burst size
+        private Duration refillInterval = Duration.ofSeconds(6);  // Sustained rate is one request per interval
+    }
+
+    public enum KeyType {
+        USER,  // User ID from the access token; anonymous requests fall back to the client IP
+        IP
+    }
+}
@@ -0,0 +1,110 @@
+package com.event.management.event_management.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for the configured route policies, using the generic cell rate algorithm:
+ * a bucket is a single AtomicLong holding its "theoretical arrival time", so taking a token is
+ * one compare-and-set with no locks and no allocation. A bucket whose arrival time has passed
+ * is full and therefore identical to a new one, which is why idle buckets can simply expire.
+ */
+public class RateLimiter {
+
+    public static final long ALLOWED = 0L;
+
+    private final List<Route> routes = new ArrayList<>();
+
+    public RateLimiter(RateLimitProperties properties) {
+        for (Map.Entry<String, RateLimitProperties.Policy> entry : properties.getPolicies().entrySet()) {
+            routes.add(new Route(entry.getKey(), entry.getValue(), properties.getMaxKeys()));
+        }
+    }
+
+    /**
+     * First route whose method and path pattern match the request, or null.
+     */
+    public Route match(String method, String path) {
+        PathContainer pathContainer = null;  // Parsed only once a method matches
+        for (Route route : routes) {
+            if (route.method != null && !route.method.equals(method)) {
+                continue;
+            }
+            if (pathContainer == null) {
+                pathContainer = PathContainer.parsePath(path);
+            }
+            if (route.pattern.matches(pathContainer)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    public List<Route> routes() {
+        return routes;
+    }
+
+    public static final class Route {
+
+        private final String name;
+        private final String method;
+        private final PathPattern pattern;
+        private final RateLimitProperties.KeyType keyType;
+        private final long intervalNanos;  // One token back per interval
+        private final long toleranceNanos;  // How far ahead of now the arrival time may run: the burst
+        private final Cache<Object, AtomicLong> buckets;
+
+        Route(String name, RateLimitProperties.Policy policy, long maxKeys) {
+            if (policy.getPath() == null || policy.getCapacity() < 1 || policy.getRefillInterval().isZero()) {
+                throw new IllegalArgumentException("Rate limit policy '" + name + "' needs a path, capacity >= 1 and a refill interval");
+            }
+            this.name = name;
+            this.method = policy.getMethod() == null ? null : policy.getMethod().toUpperCase();
+            this.pattern = PathPatternParser.defaultInstance.parse(policy.getPath());
+            this.keyType = policy.getKey();
+            this.intervalNanos = policy.getRefillInterval().toNanos();
+            this.toleranceNanos = intervalNanos * (policy.getCapacity() - 1);
+            // Untouched for capacity * interval means the bucket has refilled completely
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(Duration.ofNanos(intervalNanos + toleranceNanos))
+                    .build();
+        }
+
+        /**
+         * Take one token for the key.
+         *
+         * @return {@link #ALLOWED}, or the nanoseconds until the next token becomes available
+         */
+        public long tryAcquire(Object key, long now) {
+            AtomicLong arrival = buckets.get(key, k -> new AtomicLong(now));
+            while (true) {
+                long current = arrival.get();
+                long start = Math.max(current, now);
+                if (start - now > toleranceNanos) {
+                    return start - toleranceNanos - now;
+                }
+                if (arrival.compareAndSet(current, start + intervalNanos)) {
+                    return ALLOWED;
+                }
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public RateLimitProperties.KeyType keyType() {
+            return keyType;
+        }
+    }
+}
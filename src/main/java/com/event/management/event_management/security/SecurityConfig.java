@@ -1,7 +1,10 @@
 package com.event.management.event_management.security;
 
 import com.event.management.event_management.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,19 +22,32 @@ import java.util.List;
 
 @Configuration
 @EnableMethodSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+    private final MeterRegistry meterRegistry;
+    private final RateLimitProperties rateLimitProperties;
 
-    public SecurityConfig(JwtTokenProvider jwtTokenProvider, CustomUserDetailsService customUserDetailsService) {
+    @Value("${jwt.auth.stateless:true}")
+    private boolean statelessAuthentication;
+
+    public SecurityConfig(JwtTokenProvider jwtTokenProvider, CustomUserDetailsService customUserDetailsService,
+                          TokenRevocationService tokenRevocationService, MeterRegistry meterRegistry,
+                          RateLimitProperties rateLimitProperties) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.customUserDetailsService = customUserDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.meterRegistry = meterRegistry;
+        this.rateLimitProperties = rateLimitProperties;
     }
 
+    // Raising the strength re-hashes each user's password on their next successful login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -41,7 +57,8 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtTokenProvider, customUserDetailsService);
+        return new JwtAuthenticationFilter(jwtTokenProvider, customUserDetailsService,
+                tokenRevocationService, statelessAuthentication, meterRegistry);
     }
 
     @Bean
@@ -49,12 +66,20 @@ public class SecurityConfig {
         http.csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))  // Enable CORS with custom config
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/**", "/actuator/health").permitAll()
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()  // Let 404/409 error responses through
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()  // Streaming exports finish on an async dispatch; the request was authorised already
+                        .requestMatchers("/api/auth/**", "/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
                         .requestMatchers("/api/auth/register-admin").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
 
+        // Not a bean, so it only runs inside the chain, after the token has been verified
+        if (rateLimitProperties.isEnabled() && !rateLimitProperties.getPolicies().isEmpty()) {
+            http.addFilterAfter(new RateLimitFilter(new RateLimiter(rateLimitProperties), meterRegistry),
+                    JwtAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
@@ -64,7 +89,8 @@ public class SecurityConfig {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowedOrigins(List.of("http://localhost:4200",
                 "https://event-app-backend-1.onrender.com", "https://event-app-frontend-omega.vercel.app"));  // Allow both frontend and backend URLs
-        config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-Match", "Idempotency-Key"));
+        config.setExposedHeaders(List.of("ETag", "Retry-After", "Idempotent-Replayed"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
@@ -1,8 +1,6 @@
 package com.event.management.event_management.security;
 
-import com.event.management.event_management.entity.Event;
 import com.event.management.event_management.repository.EventRepository;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,9 +13,6 @@ public class SecurityService {
     }
 
     public boolean isEventCreator(Long eventId, String username) {
-        return eventRepository.findById(eventId)
-                .map(Event::getCreator)
-                .map(creator -> creator.getUsername().equals(username))
-                .orElse(false);
+        return eventRepository.existsByIdAndCreatorUsername(eventId, username);  // One query, no entity loading
     }
 }
@@ -0,0 +1,62 @@
+package com.event.management.event_management.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory revocation list consulted on every authenticated request.
+ * Each entry maps a username to a cut-off time; tokens issued at or before it are rejected.
+ * A banned user has a cut-off of {@link Long#MAX_VALUE}, so even freshly issued tokens are refused.
+ */
+@Component
+public class TokenRevocationService {
+
+    private static final long BANNED = Long.MAX_VALUE;
+
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    @Value("${jwt.revocation.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Invalidate every token issued to the user so far. New logins are still accepted.
+     */
+    public void revokeTokens(String username) {
+        long now = System.currentTimeMillis();
+        revokedBefore.merge(username, now, Math::max);
+    }
+
+    /**
+     * Block the user entirely until {@link #unban(String)} is called.
+     */
+    public void ban(String username) {
+        revokedBefore.put(username, BANNED);
+    }
+
+    public void unban(String username) {
+        revokedBefore.remove(username, BANNED);
+    }
+
+    public boolean isBanned(String username) {
+        return enabled && revokedBefore.getOrDefault(username, 0L) == BANNED;
+    }
+
+    /**
+     * Check whether a token for the given user and issue time has been revoked.
+     */
+    public boolean isRevoked(String username, Instant issuedAt) {
+        if (!enabled) {
+            return false;
+        }
+        Long cutOff = revokedBefore.get(username);
+        if (cutOff == null) {
+            return false;
+        }
+        // "iat" only has second precision, so tokens issued in the same second as the cut-off are rejected too
+        return issuedAt == null || issuedAt.toEpochMilli() <= cutOff;
+    }
+}
@@ -0,0 +1,15 @@
+package com.event.management.event_management.service;
+
+import java.time.Instant;
+
+/**
+ * Validators for the registered-attendee list of one event: the event's version (the list carries
+ * its title), the attendee-list version, bumped with every seat update, and the event's last
+ * modification time.
+ */
+public record AttendeeListVersion(Long eventVersion, Long attendeesVersion, Instant lastModifiedAt) {
+
+    public String eTag() {
+        return "\"" + eventVersion + "-" + attendeesVersion + "\"";  // Strong: equal versions mean the same list body
+    }
+}
@@ -1,12 +1,22 @@
 package com.event.management.event_management.service;
 
 import com.event.management.event_management.dto.AttendeeDTO;
+import com.event.management.event_management.dto.BulkRegistrationResultDTO;
 import com.event.management.event_management.entity.Attendee;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface AttendeeService {
     Attendee registerForEvent(Long eventId, Long userId);  // Register user for event
+    List<BulkRegistrationResultDTO> registerUsersForEvent(Long eventId, List<Long> userIds);  // Batch registration, one result per user
     void cancelRegistration(Long attendeeId);  // Cancel registration
     List<AttendeeDTO> getAttendeesByEvent(Long eventId);  // List attendees of an event
+    Optional<AttendeeListVersion> getAttendeeListVersion(Long eventId);  // ETag source; empty if the event is missing
+    void exportAttendeesByEvent(Long eventId, Consumer<AttendeeDTO> sink);  // Stream attendees row by row
+    Attendee joinWaitlist(Long eventId, Long userId);  // Register directly if a seat is free, otherwise queue
+    void leaveWaitlist(Long eventId, Long userId);  // Leave the waitlist
+    long getWaitlistPosition(Long eventId, Long userId);  // 1-based position in the waitlist
+    int promoteFromWaitlist(Long eventId);  // Fill free seats from the head of the waitlist
 }
@@ -1,71 +1,299 @@
 package com.event.management.event_management.service;
 
 import com.event.management.event_management.dto.AttendeeDTO;
+import com.event.management.event_management.dto.BulkRegistrationResultDTO;
+import com.event.management.event_management.dto.BulkRegistrationResultDTO.Outcome;
 import com.event.management.event_management.entity.Attendee;
+import com.event.management.event_management.entity.AttendeeStatus;
 import com.event.management.event_management.entity.Event;
 import com.event.management.event_management.entity.User;
+import com.event.management.event_management.exception.AlreadyRegisteredException;
+import com.event.management.event_management.exception.EventFullException;
 import com.event.management.event_management.exception.ResourceNotFoundException;
+import com.event.management.event_management.notification.NotificationOutbox;
 import com.event.management.event_management.repository.AttendeeRepository;
 import com.event.management.event_management.repository.EventRepository;
 import com.event.management.event_management.repository.UserRepository;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "app.service", histogram = true)  // One timer per method, tagged with class and method
 public class AttendeeServiceImpl implements AttendeeService {
 
     private final AttendeeRepository attendeeRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;  // Seat changes, delivered after commit
+    private final NotificationOutbox notificationOutbox;  // Confirmations, written in the same transaction
 
-    public AttendeeServiceImpl(AttendeeRepository attendeeRepository, UserRepository userRepository, EventRepository eventRepository) {
+    public AttendeeServiceImpl(AttendeeRepository attendeeRepository, UserRepository userRepository,
+                               EventRepository eventRepository, ApplicationEventPublisher eventPublisher,
+                               NotificationOutbox notificationOutbox) {
         this.attendeeRepository = attendeeRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
+        this.eventPublisher = eventPublisher;
+        this.notificationOutbox = notificationOutbox;
     }
 
+    /**
+     * Register a user for an event, enforcing capacity and uniqueness atomically.
+     * The seat is claimed with a conditional UPDATE on the event row and the attendee row is
+     * protected by a unique (user_id, event_id) constraint, so concurrent requests can neither
+     * overbook the event nor create duplicate registrations.
+     */
     @Override
+    @Transactional
     public Attendee registerForEvent(Long eventId, Long userId) {
-        // Ensure the user and event exist
+        // Ensure the user exists
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
+        // Cheap early exit for repeated clicks; the unique constraint below is what guarantees it
+        ensureNotRegistered(userId, eventId);
+
+        // Claim a seat; only this event's row is locked until the transaction commits
+        if (eventRepository.reserveSeat(eventId) == 0) {
+            if (!eventRepository.existsById(eventId)) {
+                throw new ResourceNotFoundException("Event not found");
+            }
+            throw new EventFullException("Event is fully booked");
+        }
+
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
 
-        // Check if the user is already registered for the event
-        attendeeRepository.findByUserIdAndEventId(userId, eventId).ifPresent(attendee -> {
-            throw new IllegalStateException("User is already registered for this event");
-        });
-
-        // Create and save new attendee
+        // Create and save new attendee; a concurrent duplicate rolls back the seat as well
         Attendee attendee = new Attendee();
         attendee.setUser(user);
         attendee.setEvent(event);
 
-        return attendeeRepository.save(attendee);
+        try {
+            Attendee saved = attendeeRepository.saveAndFlush(attendee);
+            eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(eventId));
+            notificationOutbox.registrationConfirmed(eventId, userId);  // Sent after commit, off this request
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyRegisteredException("User is already registered for this event", e);
+        }
+    }
+
+    /**
+     * Register many users for an event in one transaction. The event row is locked once, existing
+     * users and registrations are checked with one set-based query each, the attendee rows are
+     * written as JDBC batches and the seats are added with a single UPDATE. Users beyond the
+     * remaining capacity are reported as EVENT_FULL rather than failing the whole request.
+     */
+    @Override
+    @Transactional
+    public List<BulkRegistrationResultDTO> registerUsersForEvent(Long eventId, List<Long> userIds) {
+        Event event = eventRepository.findLockedById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+
+        Set<Long> requested = new LinkedHashSet<>(userIds);  // Keep request order, ignore repeats
+        Set<Long> existingUsers = userRepository.findExistingIds(requested);
+        Set<Long> alreadyRegistered = attendeeRepository.findUserIdsByEventIdAndUserIdIn(eventId, requested);
+
+        long seatsLeft = event.getCapacity() == null
+                ? Long.MAX_VALUE
+                : Math.max(0, event.getCapacity() - event.getRegisteredCount());
+
+        Map<Long, BulkRegistrationResultDTO> results = new LinkedHashMap<>();
+        Map<Long, Attendee> newAttendees = new LinkedHashMap<>();
+        for (Long userId : requested) {
+            if (!existingUsers.contains(userId)) {
+                results.put(userId, new BulkRegistrationResultDTO(userId, Outcome.USER_NOT_FOUND, null));
+            } else if (alreadyRegistered.contains(userId)) {
+                results.put(userId, new BulkRegistrationResultDTO(userId, Outcome.ALREADY_REGISTERED, null));
+            } else if (newAttendees.size() >= seatsLeft) {
+                results.put(userId, new BulkRegistrationResultDTO(userId, Outcome.EVENT_FULL, null));
+            } else {
+                Attendee attendee = new Attendee();
+                attendee.setUser(userRepository.getReferenceById(userId));  // Existence already checked
+                attendee.setEvent(event);
+                newAttendees.put(userId, attendee);
+                results.put(userId, null);
+            }
+        }
+
+        if (!newAttendees.isEmpty()) {
+            attendeeRepository.saveAll(newAttendees.values());
+            attendeeRepository.flush();  // Batched inserts; the event lock keeps the duplicate check valid
+            eventRepository.addSeats(eventId, newAttendees.size());
+            eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(eventId));
+            notificationOutbox.registrationsConfirmed(eventId, newAttendees.keySet());
+            newAttendees.forEach((userId, attendee) -> results.put(userId,
+                    new BulkRegistrationResultDTO(userId, Outcome.REGISTERED, attendee.getId())));
+        }
+
+        return List.copyOf(results.values());
     }
 
+    /**
+     * Cancel a registration or waitlist entry. A freed seat goes to the head of the waitlist
+     * in the same transaction.
+     */
     @Override
+    @Transactional
     public void cancelRegistration(Long attendeeId) {
         Attendee attendee = attendeeRepository.findById(attendeeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attendee not found"));
         attendeeRepository.delete(attendee);
+
+        // Leaving a waitlist notifies nobody, the same as leaveWaitlist and joining it
+        if (attendee.getStatus() == AttendeeStatus.REGISTERED) {
+            Long eventId = attendee.getEvent().getId();
+            notificationOutbox.registrationCancelled(eventId, attendee.getUser().getId());
+            eventRepository.releaseSeat(eventId);  // Give the seat back, locking the event row
+            promoteWhileLocked(eventId);
+            eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(eventId));
+        }
+    }
+
+    /**
+     * Join the waitlist for an event. If a seat happens to be free the user is registered directly.
+     */
+    @Override
+    @Transactional
+    public Attendee joinWaitlist(Long eventId, Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        ensureNotRegistered(userId, eventId);
+
+        // Taking a ticket locks the event row, so no seat can be freed between the check and the enqueue
+        if (eventRepository.takeWaitlistTicket(eventId) == 0) {
+            throw new ResourceNotFoundException("Event not found");
+        }
+
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+
+        Attendee attendee = new Attendee();
+        attendee.setUser(user);
+        attendee.setEvent(event);
+
+        if (eventRepository.reserveSeat(eventId) == 1) {
+            attendee.setStatus(AttendeeStatus.REGISTERED);
+        } else {
+            attendee.setStatus(AttendeeStatus.WAITLISTED);
+            attendee.setWaitlistPosition(eventRepository.findWaitlistSeq(eventId));
+        }
+
+        try {
+            Attendee saved = attendeeRepository.saveAndFlush(attendee);
+            if (saved.getStatus() == AttendeeStatus.REGISTERED) {
+                eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(eventId));
+                notificationOutbox.registrationConfirmed(eventId, userId);
+            }
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyRegisteredException("User is already registered for this event", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void leaveWaitlist(Long eventId, Long userId) {
+        Attendee attendee = findWaitlistEntry(eventId, userId);
+        attendeeRepository.delete(attendee);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getWaitlistPosition(Long eventId, Long userId) {
+        Attendee attendee = findWaitlistEntry(eventId, userId);
+        return attendeeRepository.countByEventIdAndStatusAndWaitlistPositionLessThan(
+                eventId, AttendeeStatus.WAITLISTED, attendee.getWaitlistPosition()) + 1;
+    }
+
+    /**
+     * Move waitlisted users into free seats, oldest ticket first. Each promotion reads only the
+     * head of the waitlist through the (event_id, status, waitlist_position) index.
+     */
+    @Override
+    @Transactional
+    public int promoteFromWaitlist(Long eventId) {
+        eventRepository.findLockedById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        int promoted = promoteWhileLocked(eventId);
+        if (promoted > 0) {
+            eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(eventId));
+        }
+        return promoted;
+    }
+
+    // Caller must already hold the event row lock so two promoters never pick the same head
+    private int promoteWhileLocked(Long eventId) {
+        int promoted = 0;
+        while (true) {
+            Attendee next = attendeeRepository
+                    .findFirstByEventIdAndStatusOrderByWaitlistPositionAsc(eventId, AttendeeStatus.WAITLISTED)
+                    .orElse(null);
+            if (next == null || eventRepository.reserveSeat(eventId) == 0) {
+                return promoted;
+            }
+            next.setStatus(AttendeeStatus.REGISTERED);
+            next.setWaitlistPosition(null);
+            attendeeRepository.saveAndFlush(next);
+            notificationOutbox.registrationConfirmed(eventId, next.getUser().getId());
+            promoted++;
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AttendeeDTO> getAttendeesByEvent(Long eventId) {
-        List<Attendee> attendees = attendeeRepository.findByEventId(eventId);
-        return attendees.stream().map(attendee -> new AttendeeDTO(
-                attendee.getId(),
-                attendee.getUser().getId(),
-                attendee.getUser().getUsername(),  // Include username
-                attendee.getEvent().getId(),
-                attendee.getEvent().getTitle()  // Include event title
-        )).collect(Collectors.toList());
+        return attendeeRepository.findDtoByEventIdAndStatus(eventId, AttendeeStatus.REGISTERED);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AttendeeListVersion> getAttendeeListVersion(Long eventId) {
+        return eventRepository.findAttendeeListVersion(eventId);
+    }
+
+    /**
+     * Feed every registered attendee of an event to the sink without materialising the list.
+     * Rows come from a server-side cursor, so memory stays flat however large the event is.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAttendeesByEvent(Long eventId, Consumer<AttendeeDTO> sink) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found");
+        }
+        try (Stream<AttendeeDTO> attendees = attendeeRepository.streamDtoByEventIdAndStatus(eventId, AttendeeStatus.REGISTERED)) {
+            attendees.forEach(sink);
+        }
+    }
+
+    private void ensureNotRegistered(Long userId, Long eventId) {
+        attendeeRepository.findByUserIdAndEventId(userId, eventId).ifPresent(attendee -> {
+            throw new AlreadyRegisteredException(attendee.getStatus() == AttendeeStatus.WAITLISTED
+                    ? "User is already on the waitlist for this event"
+                    : "User is already registered for this event");
+        });
+    }
+
+    private Attendee findWaitlistEntry(Long eventId, Long userId) {
+        return attendeeRepository.findByUserIdAndEventId(userId, eventId)
+                .filter(attendee -> attendee.getStatus() == AttendeeStatus.WAITLISTED)
+                .orElseThrow(() -> new ResourceNotFoundException("User is not on the waitlist for this event"));
     }
 
 }
@@ -3,13 +3,17 @@ package com.event.management.event_management.service;
 
 import com.event.management.event_management.entity.User;
 import com.event.management.event_management.repository.UserRepository;
+import com.event.management.event_management.security.UserPrincipal;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -17,15 +21,37 @@ public class CustomUserDetailsService implements UserDetailsService {
         this.userRepository = userRepository;
     }
 
+    // Read-write, so with read replicas credentials are always checked on the primary:
+    // a replica may not have a just-created account or a password change yet
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
-                .authorities(user.getRole().name())
-                .build();
+        // Carry the ID so login can issue a token without looking the user up again
+        return toPrincipal(user);
+    }
+
+    /**
+     * Called after a successful login whose stored hash is weaker than the configured BCrypt
+     * strength; the password is re-hashed transparently so the cost can be raised without resets.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+        user.setPassword(newPassword);  // Already encoded by the authentication provider
+        return toPrincipal(userRepository.save(user));
+    }
+
+    private static UserPrincipal toPrincipal(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                AuthorityUtils.createAuthorityList(user.getRole().name())
+        );
     }
 }
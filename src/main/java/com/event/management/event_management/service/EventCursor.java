@@ -0,0 +1,51 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Keyset position in the (eventDate, id) ordering of events, exchanged with clients as an opaque token.
+ * Events without a date sort after all dated events, so their cursor has a null eventDate. A virtual
+ * occurrence of a series has no id yet and takes the negated series id instead.
+ */
+public record EventCursor(LocalDateTime eventDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    // Catalog order of dated events and occurrences
+    public static final Comparator<EventDTO> DATED_ORDER =
+            Comparator.comparing(EventDTO::getEventDate).thenComparingLong(EventCursor::catalogKey);
+
+    public static EventCursor of(EventDTO event) {
+        return new EventCursor(event.getEventDate(), catalogKey(event));
+    }
+
+    public static long catalogKey(EventDTO event) {
+        return event.getId() != null ? event.getId() : -event.getSeriesId();
+    }
+
+    public String encode() {
+        String raw = (eventDate == null ? "" : eventDate.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String date = raw.substring(0, separator);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new EventCursor(date.isEmpty() ? null : LocalDateTime.parse(date), id);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid page cursor", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.event.management.event_management.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters of an event search: a required [from, to) date window plus optional location
+ * (case-insensitive exact match) and keywords (web-search syntax over title and description).
+ */
+public record EventSearchCriteria(LocalDateTime from, LocalDateTime to, String location, String keywords) {
+}
@@ -0,0 +1,23 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.dto.EventSeriesDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventSeriesService {
+    EventSeriesDTO createSeries(EventSeriesDTO seriesDTO, String username);
+
+    EventSeriesDTO getSeries(Long seriesId);  // Open to all
+
+    void deleteSeries(Long seriesId, String username);  // Creator or admin; materialised occurrences stay as events
+
+    List<EventDTO> getOccurrences(Long seriesId, LocalDateTime from, LocalDateTime to);  // Expanded for [from, to)
+
+    EventDTO materializeOccurrence(Long seriesId, LocalDateTime start, String username);  // Returns the event row
+
+    void cancelOccurrence(Long seriesId, LocalDateTime start, String username);  // Creator or admin
+
+    List<EventDTO> getCatalogOccurrences(EventCursor after, LocalDateTime until, int limit);  // Not yet materialised
+}
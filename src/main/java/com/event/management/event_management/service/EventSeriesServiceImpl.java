@@ -0,0 +1,321 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.config.CacheConfig;
+import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.dto.EventSeriesDTO;
+import com.event.management.event_management.entity.EventSeries;
+import com.event.management.event_management.entity.User;
+import com.event.management.event_management.exception.InvalidSearchException;
+import com.event.management.event_management.exception.InvalidSeriesException;
+import com.event.management.event_management.exception.ResourceNotFoundException;
+import com.event.management.event_management.repository.EventRepository;
+import com.event.management.event_management.repository.EventSeriesRepository;
+import com.event.management.event_management.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recurring events. A series stores its rule, not its occurrences: they are expanded on demand for
+ * the window being read, and an occurrence only becomes an event row when something has to be
+ * attached to it, a registration or an edit (see {@link #materializeOccurrence}). Listings merge
+ * the two: the event row where there is one, a "virtual" occurrence (id null, seriesId set)
+ * everywhere else, minus cancelled occurrences.
+ */
+@Service
+@Timed(value = "app.service", histogram = true)
+public class EventSeriesServiceImpl implements EventSeriesService {
+
+    private final EventSeriesRepository eventSeriesRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    @Value("${events.series.horizon-days:90}")
+    private int horizonDays;
+
+    @Value("${events.search.max-window-days:366}")
+    private int maxWindowDays;
+
+    public EventSeriesServiceImpl(EventSeriesRepository eventSeriesRepository, EventRepository eventRepository,
+                                  UserRepository userRepository, CacheManager cacheManager) {
+        this.eventSeriesRepository = eventSeriesRepository;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENT_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EVENTS_BY_CREATOR, allEntries = true)
+    })
+    public EventSeriesDTO createSeries(EventSeriesDTO seriesDTO, String username) {
+        User creator = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        if (seriesDTO.getRepeatUntil() != null && seriesDTO.getRepeatUntil().isBefore(seriesDTO.getFirstStart())) {
+            throw new InvalidSeriesException("repeatUntil must not be before firstStart");
+        }
+
+        EventSeries series = new EventSeries();
+        series.setTitle(seriesDTO.getTitle());
+        series.setDescription(seriesDTO.getDescription());
+        series.setLocation(seriesDTO.getLocation());
+        series.setCapacity(seriesDTO.getCapacity());
+        series.setFirstStart(seriesDTO.getFirstStart());
+        series.setFrequency(seriesDTO.getFrequency());
+        series.setRepeatEvery(seriesDTO.getRepeatEvery() == null ? 1 : seriesDTO.getRepeatEvery());
+        series.setRepeatUntil(seriesDTO.getRepeatUntil());
+        series.setCreator(creator);
+        series = eventSeriesRepository.save(series);
+
+        return new EventSeriesDTO(series.getId(), series.getTitle(), series.getDescription(), series.getLocation(),
+                series.getCapacity(), series.getFirstStart(), series.getFrequency(), series.getRepeatEvery(),
+                series.getRepeatUntil(), creator.getId(), creator.getUsername(), series.getVersion());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventSeriesDTO getSeries(Long seriesId) {
+        return findSeries(seriesId);
+    }
+
+    /**
+     * End a series. Its materialised occurrences have registrations or edits, so they are kept as
+     * ordinary events (the foreign key sets their series to null); the rest simply stop existing.
+     */
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENT_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EVENTS_BY_CREATOR, allEntries = true)
+    })
+    public void deleteSeries(Long seriesId, String username) {
+        EventSeries series = eventSeriesRepository.findById(seriesId)
+                .orElseThrow(() -> new ResourceNotFoundException("Series not found with ID: " + seriesId));
+        checkOwnerOrAdmin(series, username, "delete");
+        eventSeriesRepository.delete(series);
+    }
+
+    /**
+     * All occurrences of a series in [from, to): the event row for materialised ones, a virtual
+     * occurrence for the rest. Windows are capped like event searches, so a long-running series
+     * never expands into more than a year of occurrences per request.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventDTO> getOccurrences(Long seriesId, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new InvalidSearchException("Window end must be after its start");
+        }
+        if (to.isAfter(from.plusDays(maxWindowDays))) {
+            throw new InvalidSearchException("Window is limited to " + maxWindowDays + " days");
+        }
+        EventSeriesDTO series = findSeries(seriesId);
+        List<Long> seriesIds = List.of(seriesId);
+
+        Map<LocalDateTime, Long> materialized = new HashMap<>();
+        for (SeriesOccurrence occurrence : eventRepository.findMaterializedBetween(seriesIds, from, to)) {
+            materialized.put(occurrence.start(), occurrence.eventId());
+        }
+        Set<LocalDateTime> excluded = new HashSet<>();
+        for (SeriesOccurrence occurrence : eventSeriesRepository.findExcludedBetween(seriesIds, from, to)) {
+            excluded.add(occurrence.start());
+        }
+        Map<Long, EventDTO> events = new HashMap<>();
+        if (!materialized.isEmpty()) {
+            for (EventDTO event : eventRepository.findDtoByIdIn(materialized.values())) {
+                events.put(event.getId(), event);
+            }
+        }
+
+        List<EventDTO> occurrences = new ArrayList<>();
+        for (Iterator<LocalDateTime> starts = recurrence(series).between(from, to); starts.hasNext(); ) {
+            LocalDateTime start = starts.next();
+            if (!start.isBefore(to) || excluded.contains(start)) {
+                continue;
+            }
+            Long eventId = materialized.get(start);
+            if (eventId == null) {
+                occurrences.add(virtualOccurrence(series, start));
+            } else if (events.containsKey(eventId)) {
+                occurrences.add(events.get(eventId));
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Make an occurrence an event row, so it can take registrations or be edited through /api/events,
+     * and return it. Calling it again, or concurrently, returns the same row. Anyone may materialise
+     * an upcoming occurrence within the catalog horizon; the creator and admins any occurrence.
+     */
+    @Override
+    @Transactional
+    public EventDTO materializeOccurrence(Long seriesId, LocalDateTime start, String username) {
+        EventSeries series = eventSeriesRepository.findById(seriesId)
+                .orElseThrow(() -> new ResourceNotFoundException("Series not found with ID: " + seriesId));
+        checkOccurrence(series, start);
+
+        Long eventId = eventRepository.findIdBySeriesIdAndOccurrenceStart(seriesId, start).orElse(null);
+        if (eventId == null) {
+            LocalDateTime now = LocalDateTime.now();
+            if ((start.isBefore(now) || start.isAfter(now.plusDays(horizonDays))) && !isOwnerOrAdmin(series, username)) {
+                throw new InvalidSeriesException("Only upcoming occurrences within " + horizonDays + " days can be booked");
+            }
+            if (eventSeriesRepository.materialize(seriesId, start) > 0) {
+                evictEventLists();  // Only a new row changes the lists; this runs before every booking
+            }
+            eventId = eventRepository.findIdBySeriesIdAndOccurrenceStart(seriesId, start)
+                    .orElseThrow(() -> new ResourceNotFoundException("Occurrence " + start + " was cancelled"));
+        }
+        return eventRepository.findDtoById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Occurrence " + start + " was cancelled"));
+    }
+
+    /**
+     * Cancel a single occurrence. A materialised occurrence is an event with its own attendees and
+     * is deleted through /api/events instead, which records the cancellation as well.
+     */
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENT_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EVENTS_BY_CREATOR, allEntries = true)
+    })
+    public void cancelOccurrence(Long seriesId, LocalDateTime start, String username) {
+        EventSeries series = eventSeriesRepository.findById(seriesId)
+                .orElseThrow(() -> new ResourceNotFoundException("Series not found with ID: " + seriesId));
+        checkOwnerOrAdmin(series, username, "change");
+        checkOccurrence(series, start);
+
+        Long eventId = eventRepository.findIdBySeriesIdAndOccurrenceStart(seriesId, start).orElse(null);
+        if (eventId != null) {
+            throw new InvalidSeriesException("Occurrence " + start + " is event " + eventId + "; delete the event instead");
+        }
+        eventSeriesRepository.addExclusion(seriesId, start);
+    }
+
+    /**
+     * Occurrences the catalog shows in place of event rows: upcoming (from now to the horizon, or to
+     * {@code until} if that is earlier), not materialised, not cancelled, in catalog order after the
+     * cursor. Each series contributes at most {@code limit}, so a daily series can't flood the
+     * expansion, and the expansion starts at the cursor rather than at the first start.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventDTO> getCatalogOccurrences(EventCursor after, LocalDateTime until, int limit) {
+        if (after != null && after.eventDate() == null) {
+            return List.of();  // Past the dated part of the catalog
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = after == null || after.eventDate().isBefore(now) ? now : after.eventDate();
+        LocalDateTime to = now.plusDays(horizonDays);
+        if (until != null && until.isBefore(to)) {
+            to = until;
+        }
+        if (to.isBefore(from)) {
+            return List.of();
+        }
+
+        List<EventSeriesDTO> seriesList = eventSeriesRepository.findDtoActiveBetween(from, to);
+        if (seriesList.isEmpty()) {
+            return List.of();
+        }
+        List<Long> seriesIds = seriesList.stream().map(EventSeriesDTO::getId).toList();
+        Set<SeriesOccurrence> skipped = new HashSet<>();
+        for (SeriesOccurrence occurrence : eventRepository.findMaterializedBetween(seriesIds, from, to)) {
+            skipped.add(new SeriesOccurrence(occurrence.seriesId(), occurrence.start()));
+        }
+        skipped.addAll(eventSeriesRepository.findExcludedBetween(seriesIds, from, to));
+
+        List<EventDTO> occurrences = new ArrayList<>();
+        for (EventSeriesDTO series : seriesList) {
+            int added = 0;
+            for (Iterator<LocalDateTime> starts = recurrence(series).between(from, to); starts.hasNext() && added < limit; ) {
+                LocalDateTime start = starts.next();
+                if (skipped.contains(new SeriesOccurrence(series.getId(), start))) {
+                    continue;
+                }
+                if (after == null || isAfter(start, -series.getId(), after)) {
+                    occurrences.add(virtualOccurrence(series, start));
+                    added++;
+                }
+            }
+        }
+        occurrences.sort(EventCursor.DATED_ORDER);
+        return occurrences.size() > limit ? List.copyOf(occurrences.subList(0, limit)) : occurrences;
+    }
+
+    // Programmatic rather than @CacheEvict, which would clear on every call. The caches are
+    // transaction-aware (CacheConfig), so the clear happens after commit.
+    private void evictEventLists() {
+        for (String cacheName : List.of(CacheConfig.EVENT_CATALOG, CacheConfig.EVENTS_BY_CREATOR)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private EventSeriesDTO findSeries(Long seriesId) {
+        return eventSeriesRepository.findDtoById(seriesId)
+                .orElseThrow(() -> new ResourceNotFoundException("Series not found with ID: " + seriesId));
+    }
+
+    private void checkOccurrence(EventSeries series, LocalDateTime start) {
+        Recurrence recurrence = new Recurrence(series.getFirstStart(), series.getFrequency(), series.getRepeatEvery(),
+                series.getRepeatUntil());
+        if (!recurrence.isOccurrence(start)) {
+            throw new InvalidSeriesException("Series " + series.getId() + " has no occurrence at " + start);
+        }
+        if (eventSeriesRepository.isExcluded(series.getId(), start)) {
+            throw new ResourceNotFoundException("Occurrence " + start + " was cancelled");
+        }
+    }
+
+    private void checkOwnerOrAdmin(EventSeries series, String username, String action) {
+        if (!isOwnerOrAdmin(series, username)) {
+            throw new AccessDeniedException("You are not authorized to " + action + " this series.");
+        }
+    }
+
+    private boolean isOwnerOrAdmin(EventSeries series, String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return series.getCreator().getId().equals(user.getId()) || user.getRole().name().equals("ROLE_ADMIN");
+    }
+
+    private static Recurrence recurrence(EventSeriesDTO series) {
+        return new Recurrence(series.getFirstStart(), series.getFrequency(), series.getRepeatEvery(),
+                series.getRepeatUntil());
+    }
+
+    // Nothing is registered for an occurrence until it is materialised
+    private static EventDTO virtualOccurrence(EventSeriesDTO series, LocalDateTime start) {
+        return new EventDTO(null, series.getTitle(), series.getDescription(), series.getLocation(), start,
+                series.getCapacity(), series.getCreator(), series.getId(), 0, series.getVersion(), null);
+    }
+
+    private static boolean isAfter(LocalDateTime eventDate, long key, EventCursor cursor) {
+        int byDate = eventDate.compareTo(cursor.eventDate());
+        return byDate > 0 || (byDate == 0 && key > cursor.id());
+    }
+}
@@ -8,14 +8,22 @@ import java.util.List;
 public interface EventService {
     Event createEvent(EventDTO eventDTO, String username);  // Align parameter name
 
-    Event updateEvent(Long eventId, EventDTO eventDTO, String username);  // Use username consistently
+    Event updateEvent(Long eventId, EventDTO eventDTO, String username, Long expectedVersion);  // null version = unconditional
     // Include isAdmin flag
 
     void deleteEvent(Long eventId);  // Admin only
 
-    List<Event> getAllEvents();  // Open to all
+    EventDTO getEvent(Long eventId);  // Open to all, carries the version for ETags
 
-    List<Event> getEventsByCreator(Long creatorId);  // For event creators
+    List<EventDTO> getAllEvents();  // Open to all, capped at events.list.max-results
 
-    List<Event> getMyRegisteredEvents(Long userId);  // For users
+    List<EventDTO> getEventsPage(EventCursor after, int size);  // Keyset page after the cursor (null = first page)
+
+    List<EventDTO> searchEvents(EventSearchCriteria criteria, EventCursor after, int size);  // Keyset page of matches
+
+    List<EventDTO> getEventsByCreator(Long creatorId);  // For event creators
+
+    List<EventDTO> getMyRegisteredEvents(Long userId);  // For users
+
+    List<EventDTO> withCurrentSeatCounts(List<EventDTO> events);  // Cached lists carry the counts from when they were cached
 }
@@ -1,31 +1,77 @@
 package com.event.management.event_management.service;
 
+import com.event.management.event_management.config.CacheConfig;
 import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.dto.SeatAvailabilityDTO;
 import com.event.management.event_management.entity.Event;
 import com.event.management.event_management.entity.User;
+import com.event.management.event_management.exception.InvalidCursorException;
+import com.event.management.event_management.exception.InvalidSearchException;
+import com.event.management.event_management.exception.PreconditionFailedException;
 import com.event.management.event_management.exception.ResourceNotFoundException;
+import com.event.management.event_management.notification.NotificationOutbox;
 import com.event.management.event_management.repository.EventRepository;
+import com.event.management.event_management.repository.EventSeriesRepository;
 import com.event.management.event_management.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
+@Timed(value = "app.service", histogram = true)  // One timer per method, tagged with class and method
 public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final AttendeeService attendeeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationOutbox notificationOutbox;
+    private final EventSeriesService eventSeriesService;
+    private final EventSeriesRepository eventSeriesRepository;
 
-    public EventServiceImpl(EventRepository eventRepository, UserRepository userRepository) {
+    @Value("${events.list.max-results:1000}")
+    private int maxListResults;
+
+    @Value("${events.search.max-window-days:366}")
+    private int maxSearchWindowDays;
+
+    private static final int MAX_KEYWORDS_LENGTH = 200;
+
+    public EventServiceImpl(EventRepository eventRepository, UserRepository userRepository,
+                            AttendeeService attendeeService, ApplicationEventPublisher eventPublisher,
+                            NotificationOutbox notificationOutbox, EventSeriesService eventSeriesService,
+                            EventSeriesRepository eventSeriesRepository) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
+        this.attendeeService = attendeeService;
+        this.eventPublisher = eventPublisher;
+        this.notificationOutbox = notificationOutbox;
+        this.eventSeriesService = eventSeriesService;
+        this.eventSeriesRepository = eventSeriesRepository;
     }
 
     /**
      * Create a new event with the currently logged-in user as the creator.
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENT_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EVENTS_BY_CREATOR, allEntries = true)
+    })
     public Event createEvent(EventDTO eventDTO, String username) {
         User creator = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -43,9 +89,16 @@ public class EventServiceImpl implements EventService {
 
     /**
      * Update an existing event. The creator can only update their own events. Admins can update any event.
+     * With an expected version (from If-Match) the update only applies to that version of the event;
+     * a concurrent update committed first makes this one fail on the version check instead of being overwritten.
      */
     @Override
-    public Event updateEvent(Long eventId, EventDTO eventDTO, String username) {
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENT_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EVENTS_BY_CREATOR, allEntries = true)
+    })
+    public Event updateEvent(Long eventId, EventDTO eventDTO, String username, Long expectedVersion) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
@@ -58,6 +111,10 @@ public class EventServiceImpl implements EventService {
             throw new AccessDeniedException("You are not authorized to update this event.");
         }
 
+        if (expectedVersion != null && !expectedVersion.equals(event.getVersion())) {
+            throw new PreconditionFailedException("Event " + eventId + " has been modified");
+        }
+
         // Update event details
         event.setTitle(eventDTO.getTitle());
         event.setDescription(eventDTO.getDescription());
@@ -65,42 +122,169 @@ public class EventServiceImpl implements EventService {
         event.setEventDate(eventDTO.getEventDate());
         event.setCapacity(eventDTO.getCapacity());
 
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+
+        // Extra capacity goes to the waitlist first, in ticket order
+        attendeeService.promoteFromWaitlist(eventId);
+        eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(eventId));  // Capacity may have changed
+        notificationOutbox.eventUpdated(eventId);  // One outbox row; attendees are notified in batches later
+
+        return saved;
     }
 
 
     /**
-     * Delete an event. Only admins are allowed to delete events.
+     * Delete an event. Only admins are allowed to delete events. Deleting an occurrence of a series
+     * cancels that occurrence.
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EVENT_CATALOG, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.EVENTS_BY_CREATOR, allEntries = true)
+    })
+    @Transactional
     public void deleteEvent(Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with ID: " + eventId));
 
+        if (event.getSeries() != null) {
+            // Otherwise the series' rule would bring the occurrence back as a virtual one
+            eventSeriesRepository.addExclusion(event.getSeries().getId(), event.getOccurrenceStart());
+        }
         eventRepository.delete(event);
     }
 
+    /**
+     * Get a single event. This is available to all users.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EventDTO getEvent(Long eventId) {
+        return eventRepository.findDtoById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with ID: " + eventId));
+    }
+
     /**
      * Get all events. This is available to all users.
+     * Capped so the unpaginated endpoint can never materialise the whole table.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EVENT_CATALOG, key = "'all'")
+    public List<EventDTO> getAllEvents() {
+        return loadPage(null, maxListResults);
+    }
+
+    /**
+     * Get one keyset page of events ordered by (eventDate, id), starting after the given cursor.
+     * Upcoming occurrences of series are listed too, expanded for the page (see EventSeriesService).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EVENT_CATALOG, key = "{#after, #size}")
+    public List<EventDTO> getEventsPage(EventCursor after, int size) {
+        return loadPage(after, size);
+    }
+
+    private List<EventDTO> loadPage(EventCursor after, int size) {
+        List<EventDTO> page = new ArrayList<>(size);
+        if (after == null) {
+            page.addAll(eventRepository.findDatedFirstPage(PageRequest.of(0, size)));
+        } else if (after.eventDate() != null) {
+            page.addAll(eventRepository.findDatedPageAfter(after.eventDate(), after.id(), PageRequest.of(0, size)));
+        }
+
+        // Series occurrences without an event row, merged in date order. A full page ends at its last
+        // dated row, so occurrences are only expanded up to there: later ones could not make the page.
+        LocalDateTime until = page.size() == size ? page.get(size - 1).getEventDate() : null;
+        List<EventDTO> occurrences = eventSeriesService.getCatalogOccurrences(after, until, size);
+        if (!occurrences.isEmpty()) {
+            page.addAll(occurrences);
+            page.sort(EventCursor.DATED_ORDER);
+            page = new ArrayList<>(page.subList(0, Math.min(size, page.size())));
+        }
+
+        // Dated events exhausted: continue with the undated ones
+        if (page.size() < size) {
+            long afterId = after == null || after.eventDate() != null ? 0L : after.id();
+            page.addAll(eventRepository.findUndatedPageAfter(afterId, PageRequest.of(0, size - page.size())));
+        }
+        return List.copyOf(page);  // Shared through the cache, so never hand out a mutable list
+    }
+
+    /**
+     * Search dated events in a bounded window by location and keywords, one keyset page at a time.
+     * Not cached: the filter space is too wide for hits to be likely.
      */
     @Override
-    public List<Event> getAllEvents() {
-        return eventRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<EventDTO> searchEvents(EventSearchCriteria criteria, EventCursor after, int size) {
+        if (!criteria.to().isAfter(criteria.from())) {
+            throw new InvalidSearchException("Search window end must be after its start");
+        }
+        if (criteria.to().isAfter(criteria.from().plusDays(maxSearchWindowDays))) {
+            throw new InvalidSearchException("Search window is limited to " + maxSearchWindowDays + " days");
+        }
+        if (criteria.keywords() != null && criteria.keywords().length() > MAX_KEYWORDS_LENGTH) {
+            throw new InvalidSearchException("Search keywords are limited to " + MAX_KEYWORDS_LENGTH + " characters");
+        }
+        if (after != null && after.eventDate() == null) {
+            throw new InvalidCursorException("Invalid page cursor");  // Search only returns dated events
+        }
+        return eventRepository.searchEvents(criteria, after, size);
     }
 
     /**
      * Get events created by a specific user (for event creators).
      */
     @Override
-    public List<Event> getEventsByCreator(Long creatorId) {
-        return eventRepository.findByCreatorId(creatorId);
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.EVENTS_BY_CREATOR, key = "#creatorId")
+    public List<EventDTO> getEventsByCreator(Long creatorId) {
+        return List.copyOf(eventRepository.findDtoByCreatorId(creatorId));
     }
 
     /**
      * Get events that the current user is registered for.
      */
     @Override
-    public List<Event> getMyRegisteredEvents(Long userId) {
-        return eventRepository.findEventsByUserId(userId);
+    @Transactional(readOnly = true)
+    public List<EventDTO> getMyRegisteredEvents(Long userId) {
+        return eventRepository.findRegisteredDtoByUserId(userId);
+    }
+
+    /**
+     * Seat counts change with every registration, far more often than the cached catalog entries
+     * are evicted, so they are read fresh for the whole list in one primary-key query. Events whose
+     * count is unchanged are returned as they are; the others as copies, cached DTOs are shared.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventDTO> withCurrentSeatCounts(List<EventDTO> events) {
+        if (events.isEmpty()) {
+            return events;
+        }
+        // Virtual series occurrences have no row, and no registrations, yet
+        List<Long> eventIds = events.stream().map(EventDTO::getId).filter(Objects::nonNull).toList();
+        if (eventIds.isEmpty()) {
+            return events;
+        }
+        Map<Long, Integer> counts = new HashMap<>(eventIds.size() * 2);
+        for (SeatAvailabilityDTO seats : eventRepository.findSeatAvailability(eventIds)) {
+            counts.put(seats.getEventId(), seats.getRegisteredCount());
+        }
+
+        List<EventDTO> current = new ArrayList<>(events.size());
+        for (EventDTO event : events) {
+            Integer registeredCount = counts.get(event.getId());
+            if (registeredCount == null || registeredCount.equals(event.getRegisteredCount())) {
+                current.add(event);  // Unchanged, virtual, or deleted since it was cached
+            } else {
+                current.add(new EventDTO(event.getId(), event.getTitle(), event.getDescription(), event.getLocation(),
+                        event.getEventDate(), event.getCapacity(), event.getCreator(), event.getSeriesId(), registeredCount,
+                        event.getVersion(), event.getLastModifiedAt()));
+            }
+        }
+        return current;
     }
 }
@@ -0,0 +1,130 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.entity.IdempotencyKey;
+import com.event.management.event_management.entity.IdempotencyStatus;
+import com.event.management.event_management.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Two-tier store behind the Idempotency-Key header. The database row is the source of truth
+ * and the only place a key is claimed: claiming is a single INSERT ... ON CONFLICT on its primary
+ * key, so of several concurrent requests with the same key exactly one proceeds, on any
+ * instance and across restarts. Completed responses are also kept in memory, so the common
+ * case of a client retrying on the same instance is answered without a database round-trip.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public enum Outcome {
+        CLAIMED,  // Caller owns the key and must complete or release it
+        REPLAY,  // Same request already completed; send the stored response
+        IN_PROGRESS,  // Same key is being processed by another request
+        KEY_REUSED  // Key was used for a different request
+    }
+
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body) {
+    }
+
+    public record Claim(Outcome outcome, StoredResponse response, Instant claimedAt) {
+    }
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Cache<String, StoredResponse> completed;
+    private final long ttlMs;
+    private final long lockTimeoutMs;
+
+    public IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                            @Value("${idempotency.ttl-ms:86400000}") long ttlMs,
+                            @Value("${idempotency.lock-timeout-ms:60000}") long lockTimeoutMs,
+                            @Value("${idempotency.cache.max-size:10000}") long cacheMaxSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttlMs = ttlMs;
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    public Claim claim(String keyHash, String requestHash) {
+        StoredResponse cached = completed.getIfPresent(keyHash);
+        if (cached != null) {
+            return replayOrReject(cached, requestHash);
+        }
+
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);  // As stored, so it can identify the claim
+        if (idempotencyKeyRepository.claim(keyHash, requestHash, now, now.plusMillis(lockTimeoutMs)) == 1) {
+            return new Claim(Outcome.CLAIMED, null, now);
+        }
+
+        // Lost the race or seen before: a missing row means the holder just released it
+        IdempotencyKey existing = idempotencyKeyRepository.findById(keyHash).orElse(null);
+        if (existing == null || existing.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+            boolean sameRequest = existing == null || existing.getRequestHash().equals(requestHash);
+            return new Claim(sameRequest ? Outcome.IN_PROGRESS : Outcome.KEY_REUSED, null, null);
+        }
+        StoredResponse stored = new StoredResponse(existing.getRequestHash(), existing.getResponseStatus(),
+                existing.getContentType(), existing.getResponseBody());
+        completed.put(keyHash, stored);
+        return replayOrReject(stored, requestHash);
+    }
+
+    /**
+     * Record the response in the caller's transaction, so it commits together with the request's
+     * writes or not at all.
+     *
+     * @return false if the claim expired and another request has taken the key over; the caller
+     * must then roll back
+     */
+    public boolean complete(String keyHash, Instant claimedAt, StoredResponse response) {
+        if (idempotencyKeyRepository.complete(keyHash, claimedAt, response.status(), response.contentType(),
+                response.body(), Instant.now().plusMillis(ttlMs)) == 0) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only a committed response may be replayed from memory
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    completed.put(keyHash, response);
+                }
+            });
+        } else {
+            completed.put(keyHash, response);
+        }
+        return true;
+    }
+
+    // Lets a retry run the request again, e.g. after it failed
+    public void release(String keyHash, Instant claimedAt) {
+        idempotencyKeyRepository.release(keyHash, claimedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = idempotencyKeyRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    private static Claim replayOrReject(StoredResponse stored, String requestHash) {
+        return stored.requestHash().equals(requestHash)
+                ? new Claim(Outcome.REPLAY, stored, null)
+                : new Claim(Outcome.KEY_REUSED, null, null);
+    }
+}
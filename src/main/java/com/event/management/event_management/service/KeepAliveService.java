@@ -1,23 +1,57 @@
 package com.event.management.event_management.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Optional periodic request to this instance over loopback, for hosts that idle an instance
+ * without traffic. Off by default (keepalive.enabled); only the path is configurable, so it
+ * never leaves the machine. Startup warm-up is done by WarmUpRunner, not here.
+ */
 @Service
+@ConditionalOnProperty(name = "keepalive.enabled", havingValue = "true")
 public class KeepAliveService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private static final String BACKEND_URL = "https://event-app-backend-1.onrender.com/actuator/health";
+    private static final Logger log = LoggerFactory.getLogger(KeepAliveService.class);
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final Environment environment;
 
+    @Value("${keepalive.path:/actuator/health/liveness}")
+    private String path;
 
-    @Scheduled(fixedRate = 100000)
+    public KeepAliveService(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Scheduled(fixedRateString = "${keepalive.interval-ms:100000}", initialDelayString = "${keepalive.interval-ms:100000}")
     public void pingBackend() {
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            return;  // No embedded web server
+        }
+        URI uri = URI.create("http://127.0.0.1:" + port + environment.getProperty("server.servlet.context-path", "") + path);
         try {
-            restTemplate.getForObject(BACKEND_URL, String.class);
-            System.out.println("Pinged backend successfully.");
-        } catch (Exception e) {
-            System.err.println("Failed to ping backend: " + e.getMessage());
+            HttpResponse<Void> response = httpClient.send(
+                    HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            log.debug("Keep-alive request to {} returned {}", uri, response.statusCode());
+        } catch (IOException e) {
+            log.warn("Keep-alive request to {} failed: {}", uri, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 }
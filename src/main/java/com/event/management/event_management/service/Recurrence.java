@@ -0,0 +1,79 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.entity.RecurrenceFrequency;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The start times produced by a series' rule. Occurrence n is computed directly from the first
+ * start (never by stepping from the previous one, so monthly dates don't creep after a short
+ * month), which lets iteration begin anywhere without walking the occurrences before it.
+ */
+public record Recurrence(LocalDateTime firstStart, RecurrenceFrequency frequency, int every, LocalDateTime until) {
+
+    public LocalDateTime occurrence(long n) {
+        return switch (frequency) {
+            case DAILY -> firstStart.plusDays(n * every);
+            case WEEKLY -> firstStart.plusWeeks(n * every);
+            case MONTHLY -> firstStart.plusMonths(n * every);
+        };
+    }
+
+    public boolean isOccurrence(LocalDateTime start) {
+        long n = firstIndexFrom(start);
+        return occurrence(n).equals(start) && withinUntil(start);
+    }
+
+    /**
+     * Occurrences at or after {@code from}, in order, up to the end of the rule or {@code to} (inclusive).
+     */
+    public Iterator<LocalDateTime> between(LocalDateTime from, LocalDateTime to) {
+        long first = firstIndexFrom(from);
+        return new Iterator<>() {
+            private long n = first;
+            private LocalDateTime next = occurrence(first);
+
+            @Override
+            public boolean hasNext() {
+                return !next.isAfter(to) && withinUntil(next);
+            }
+
+            @Override
+            public LocalDateTime next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                LocalDateTime current = next;
+                next = occurrence(++n);
+                return current;
+            }
+        };
+    }
+
+    // Index of the first occurrence at or after the given time; an estimate, then corrected by a step or two
+    private long firstIndexFrom(LocalDateTime from) {
+        if (!from.isAfter(firstStart)) {
+            return 0;
+        }
+        ChronoUnit unit = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS;
+            case WEEKLY -> ChronoUnit.WEEKS;
+            case MONTHLY -> ChronoUnit.MONTHS;
+        };
+        long n = unit.between(firstStart, from) / every;
+        while (n > 0 && !occurrence(n - 1).isBefore(from)) {
+            n--;
+        }
+        while (occurrence(n).isBefore(from)) {
+            n++;
+        }
+        return n;
+    }
+
+    private boolean withinUntil(LocalDateTime start) {
+        return until == null || !start.isAfter(until);
+    }
+}
@@ -0,0 +1,17 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.entity.User;
+
+public interface RefreshTokenService {
+
+    String issue(Long userId);  // New token family after a password login
+
+    Rotation rotate(String refreshToken);  // Exchange a token for its successor; reuse or a ban revokes the family
+
+    void revoke(String refreshToken);  // Logout: end the token's family
+
+    void revokeAllForUser(String username);  // Admin revocation and bans
+
+    record Rotation(User user, String refreshToken) {
+    }
+}
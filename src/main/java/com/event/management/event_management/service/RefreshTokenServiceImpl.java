@@ -0,0 +1,124 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.entity.RefreshToken;
+import com.event.management.event_management.entity.User;
+import com.event.management.event_management.exception.AccountSuspendedException;
+import com.event.management.event_management.exception.InvalidRefreshTokenException;
+import com.event.management.event_management.repository.RefreshTokenRepository;
+import com.event.management.event_management.repository.UserRepository;
+import com.event.management.event_management.security.TokenRevocationService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+@Timed(value = "app.service", histogram = true)
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh.expiration-ms:1209600000}")
+    private long refreshExpirationMs;
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                                   TokenRevocationService tokenRevocationService) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Override
+    @Transactional
+    public String issue(Long userId) {
+        return create(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Revoke the presented token and issue its successor in the same family. A token that was
+     * already rotated means it leaked (or was replayed), so every token of that login is revoked.
+     * A banned user's family is revoked too, before any successor is written.
+     */
+    @Override
+    @Transactional(noRollbackFor = {InvalidRefreshTokenException.class, AccountSuspendedException.class})  // Keep the family revocation
+    public Rotation rotate(String refreshToken) {
+        Instant now = Instant.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+        if (tokenRevocationService.isBanned(current.getUser().getUsername())) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new AccountSuspendedException("This account has been suspended");
+        }
+        if (current.getRevokedAt() != null || refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            log.warn("Revoked refresh token presented for user {}; family {} revoked",
+                    current.getUser().getUsername(), current.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+
+        return new Rotation(current.getUser(), create(current.getUser(), current.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllForUser(String username) {
+        refreshTokenRepository.revokeAllForUsername(username, Instant.now());
+    }
+
+    // Expired rows can never be used again; drop them so the table only holds live sessions
+    @Scheduled(fixedDelayString = "${jwt.refresh.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String create(User user, String familyId) {
+        byte[] random = new byte[32];
+        secureRandom.nextBytes(random);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        Instant now = Instant.now();
+        refreshTokenRepository.save(new RefreshToken(null, hash(token), familyId, user,
+                now, now.plusMillis(refreshExpirationMs), null));
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.event.management.event_management.service;
+
+/**
+ * Published whenever an event's seat count or capacity may have changed. Only the ID is carried:
+ * the hub reads the committed counts itself, once per tick for all changed events.
+ */
+public record SeatAvailabilityChangedEvent(Long eventId) {
+}
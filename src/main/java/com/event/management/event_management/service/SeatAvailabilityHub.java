@@ -0,0 +1,200 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.dto.SeatAvailabilityDTO;
+import com.event.management.event_management.repository.EventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out of seat-count changes to SSE subscribers.
+ * <p>
+ * Committed registrations and cancellations only mark their event as changed. Once per tick the
+ * hub reads the current counts of all changed events in one query and hands each subscriber the
+ * ones it follows. A subscriber keeps at most one pending update per followed event (a newer
+ * count replaces an unsent one), so a slow client costs a bounded amount of memory and never
+ * holds up the others: sending happens on a small pool, one drain task per subscriber at a time.
+ */
+@Component
+public class SeatAvailabilityHub {
+
+    private final EventRepository eventRepository;
+    private final ExecutorService sender;
+    private final Set<Long> changedEvents = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger reservedSlots = new AtomicInteger();  // Subscribers plus ones being set up
+
+    @Value("${events.seats.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${events.seats.stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    public SeatAvailabilityHub(EventRepository eventRepository,
+                               @Value("${events.seats.stream.sender-threads:4}") int senderThreads,
+                               MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, task -> {
+            Thread thread = new Thread(task, "seat-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("events.seats.stream.subscribers", subscribers, Set::size)
+                .description("Open seat availability streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream for the given events. The current availability is sent first, then changes.
+     *
+     * @return null when the subscriber limit is reached
+     */
+    public SseEmitter subscribe(Collection<Long> eventIds) {
+        // Reserve the slot first: checking the count and adding separately lets concurrent calls overshoot
+        if (reservedSlots.incrementAndGet() > maxSubscribers) {
+            reservedSlots.decrementAndGet();
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(eventIds));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+
+        try {
+            eventRepository.findSeatAvailability(subscriber.eventIds).forEach(subscriber::offer);
+        } catch (RuntimeException e) {
+            unsubscribe(subscriber);
+            throw e;
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    // Gives the slot back exactly once, whichever of the emitter callbacks or a failed send gets here first
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            reservedSlots.decrementAndGet();
+        }
+    }
+
+    // Only committed changes are announced; a rolled-back registration never reaches clients
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+        changedEvents.add(event.eventId());
+    }
+
+    @Scheduled(fixedDelayString = "${events.seats.stream.tick-ms:250}")
+    public void tick() {
+        if (changedEvents.isEmpty()) {
+            return;
+        }
+        List<Long> changed = new ArrayList<>(changedEvents);
+        changedEvents.removeAll(changed);
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        // One query per tick, however many registrations happened in it
+        for (SeatAvailabilityDTO availability : eventRepository.findSeatAvailability(changed)) {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.eventIds.contains(availability.getEventId())) {
+                    subscriber.offer(availability);
+                }
+            }
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    // Comment lines keep proxies from closing idle streams and reveal clients that went away
+    @Scheduled(fixedDelayString = "${events.seats.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if ((subscriber.hasPending() || subscriber.heartbeatDue) && subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (subscriber.hasPending() || subscriber.heartbeatDue) {
+                for (SeatAvailabilityDTO availability : subscriber.takePending()) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name("seats")
+                            .data(availability));
+                }
+                if (subscriber.heartbeatDue) {
+                    subscriber.heartbeatDue = false;
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(subscriber);  // Client disconnected or the emitter already completed
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        schedule(subscriber);  // Something may have arrived after the last check
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        sender.shutdownNow();
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> eventIds;
+        private final Map<Long, SeatAvailabilityDTO> pending = new LinkedHashMap<>();  // At most one per followed event
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, Set<Long> eventIds) {
+            this.emitter = emitter;
+            this.eventIds = eventIds;
+        }
+
+        private synchronized void offer(SeatAvailabilityDTO availability) {
+            pending.put(availability.getEventId(), availability);
+        }
+
+        private synchronized boolean hasPending() {
+            return !pending.isEmpty();
+        }
+
+        private synchronized List<SeatAvailabilityDTO> takePending() {
+            List<SeatAvailabilityDTO> updates = new ArrayList<>(pending.values());
+            pending.clear();
+            return updates;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.event.management.event_management.service;
+
+/**
+ * An event's seat counter next to the number of attendees actually registered for it.
+ */
+public record SeatCountCheck(Long eventId, Integer registeredCount, Long attendeeCount) {
+
+    public boolean drifted() {
+        return registeredCount.longValue() != attendeeCount;
+    }
+}
@@ -0,0 +1,110 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.entity.AttendeeStatus;
+import com.event.management.event_management.entity.Event;
+import com.event.management.event_management.repository.AttendeeRepository;
+import com.event.management.event_management.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Background check of the per-event seat counters (Event.registeredCount) against the attendee
+ * rows they stand for. Each run looks at a bounded number of events, never the whole table: the
+ * ones changed since the previous run, where drift would have appeared, plus the next slice of a
+ * sweep over all events by id that eventually reaches everything else. Both are checked with one
+ * query. A drifted event is recounted under its row lock, the lock every registration and
+ * cancellation takes, so the repair cannot race with them.
+ */
+@Component
+public class SeatCountReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatCountReconciler.class);
+
+    // lastModifiedAt is the start of the changing transaction, by the database or the application
+    // clock; look back a little further so neither slow transactions nor clock skew hide a change
+    private static final Duration LOOK_BACK = Duration.ofSeconds(30);
+
+    private final EventRepository eventRepository;
+    private final AttendeeRepository attendeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final Counter repaired;
+
+    private Instant lastRun = Instant.now();
+    private long sweepCursor = 0L;
+
+    @Value("${events.seats.reconcile.batch-size:200}")
+    private int batchSize;
+
+    public SeatCountReconciler(EventRepository eventRepository, AttendeeRepository attendeeRepository,
+                               ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.attendeeRepository = attendeeRepository;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.repaired = Counter.builder("events.seats.drift.repaired")
+                .description("Events whose seat counter did not match their registered attendees and was corrected")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${events.seats.reconcile.interval-ms:60000}",
+            initialDelayString = "${events.seats.reconcile.interval-ms:60000}")
+    public void reconcile() {
+        Instant started = Instant.now();
+
+        // Changes beyond the batch size are left to the sweep
+        Set<Long> eventIds = new LinkedHashSet<>(
+                eventRepository.findIdsModifiedSince(lastRun.minus(LOOK_BACK), PageRequest.of(0, batchSize)));
+
+        List<Long> slice = eventRepository.findIdsAfter(sweepCursor, PageRequest.of(0, batchSize));
+        eventIds.addAll(slice);
+        sweepCursor = slice.size() < batchSize ? 0L : slice.get(slice.size() - 1);  // Start over at the end
+
+        if (!eventIds.isEmpty()) {
+            for (SeatCountCheck check : eventRepository.checkSeatCounts(eventIds)) {
+                if (check.drifted()) {
+                    repair(check.eventId());
+                }
+            }
+        }
+        lastRun = started;
+    }
+
+    private void repair(Long eventId) {
+        SeatCountCheck result = transaction.execute(status -> {
+            Event event = eventRepository.findLockedById(eventId).orElse(null);
+            if (event == null) {
+                return null;  // Deleted since
+            }
+            long registered = attendeeRepository.countByEventIdAndStatus(eventId, AttendeeStatus.REGISTERED);
+            SeatCountCheck check = new SeatCountCheck(eventId, event.getRegisteredCount(), registered);
+            if (check.drifted()) {
+                eventRepository.setRegisteredCount(eventId, (int) registered);
+                eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(eventId));
+            }
+            return check;
+        });
+
+        if (result != null && result.drifted()) {
+            repaired.increment();
+            log.warn("Seat counter of event {} was {} but {} attendees are registered; corrected",
+                    eventId, result.registeredCount(), result.attendeeCount());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.event.management.event_management.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * An occurrence of a series by its rule start time; eventId is set once it is an event row.
+ */
+public record SeriesOccurrence(Long seriesId, LocalDateTime start, Long eventId) {
+
+    // Used by the JPQL constructor expression for cancelled occurrences, which have no event row
+    public SeriesOccurrence(Long seriesId, LocalDateTime start) {
+        this(seriesId, start, null);
+    }
+}
@@ -6,12 +6,14 @@ import com.event.management.event_management.entity.User;
 import com.event.management.event_management.exception.UserAlreadyExistsException;
 import com.event.management.event_management.repository.UserRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "app.service", histogram = true)  // One timer per method, tagged with class and method
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
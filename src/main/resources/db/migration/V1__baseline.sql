@@ -0,0 +1,53 @@
+-- Baseline of the schema previously created by spring.jpa.hibernate.ddl-auto=update.
+-- Every statement is idempotent so it also brings existing Hibernate-created databases up to date.
+
+CREATE TABLE IF NOT EXISTS _user (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email    VARCHAR(255),
+    password VARCHAR(255),
+    role     SMALLINT CHECK (role BETWEEN 0 AND 1),
+    username VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS event (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    capacity         INTEGER,
+    description      VARCHAR(255),
+    event_date       TIMESTAMP(6),
+    location         VARCHAR(255),
+    title            VARCHAR(255),
+    creator_id       BIGINT REFERENCES _user (id),
+    registered_count INTEGER NOT NULL DEFAULT 0,
+    waitlist_seq     BIGINT  NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS attendee (
+    id                BIGINT PRIMARY KEY,
+    event_id          BIGINT REFERENCES event (id),
+    user_id           BIGINT REFERENCES _user (id),
+    status            VARCHAR(255) NOT NULL DEFAULT 'REGISTERED' CHECK (status IN ('REGISTERED', 'WAITLISTED')),
+    waitlist_position BIGINT
+);
+
+-- Columns added after the first deployments
+ALTER TABLE event ADD COLUMN IF NOT EXISTS registered_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE event ADD COLUMN IF NOT EXISTS waitlist_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE attendee ADD COLUMN IF NOT EXISTS status VARCHAR(255) NOT NULL DEFAULT 'REGISTERED';
+ALTER TABLE attendee ADD COLUMN IF NOT EXISTS waitlist_position BIGINT;
+
+-- Older databases could hold duplicate registrations; keep the earliest before enforcing uniqueness
+DELETE FROM attendee a USING attendee b
+WHERE a.user_id = b.user_id AND a.event_id = b.event_id AND a.id > b.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_attendee_user_event ON attendee (user_id, event_id);
+CREATE INDEX IF NOT EXISTS idx_attendee_event_status_position ON attendee (event_id, status, waitlist_position);
+
+-- Seat and waitlist counters must agree with the attendee rows they summarise
+UPDATE event e SET
+    registered_count = (SELECT COUNT(*) FROM attendee a WHERE a.event_id = e.id AND a.status = 'REGISTERED'),
+    waitlist_seq = GREATEST(e.waitlist_seq,
+            COALESCE((SELECT MAX(a.waitlist_position) FROM attendee a WHERE a.event_id = e.id), 0));
+
+-- Attendee ids come from a pooled sequence (allocationSize = 50); move it past ids handed out by IDENTITY
+CREATE SEQUENCE IF NOT EXISTS attendee_seq INCREMENT BY 50;
+SELECT setval('attendee_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM attendee), (SELECT last_value FROM attendee_seq)));
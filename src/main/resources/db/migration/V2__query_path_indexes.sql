@@ -0,0 +1,16 @@
+-- Indexes for the repository query paths. Attendee lookups are already covered by V1:
+-- findByUserIdAndEventId and the user-side joins use uk_attendee_user_event (user_id, event_id),
+-- findByEventId and the waitlist queries use idx_attendee_event_status_position (event_id, ...).
+
+-- UserRepository.findByUsername / existsByUsernameOrEmail; also rejects duplicate accounts
+CREATE UNIQUE INDEX IF NOT EXISTS uk_user_username ON _user (username);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_user_email ON _user (email);
+
+-- UserRepository.existsByRole
+CREATE INDEX IF NOT EXISTS idx_user_role ON _user (role);
+
+-- EventRepository.findByCreatorId / findDtoByCreatorId, returned in (event_date, id) order
+CREATE INDEX IF NOT EXISTS idx_event_creator_date ON event (creator_id, event_date, id);
+
+-- Keyset pages of the event catalog: ORDER BY event_date, id
+CREATE INDEX IF NOT EXISTS idx_event_date_id ON event (event_date, id);
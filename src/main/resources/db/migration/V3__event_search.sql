@@ -0,0 +1,12 @@
+-- Full-text search over title and description, maintained by PostgreSQL on every insert/update
+ALTER TABLE event ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(title, '') || ' ' || coalesce(description, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_event_search_vector ON event USING gin (search_vector);
+
+-- Location filter within a date window, in keyset order
+CREATE INDEX IF NOT EXISTS idx_event_location_date ON event (lower(location), event_date, id);
+
+-- Track enough lexemes that rare keywords are estimated as rare and searched through the GIN index
+-- instead of walking the date index; takes effect with the next ANALYZE
+ALTER TABLE event ALTER COLUMN search_vector SET STATISTICS 1000;
@@ -0,0 +1,8 @@
+-- Optimistic locking for event edits (JPA @Version)
+ALTER TABLE event ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Bumped by every seat update, so the registered-attendee list can be validated without reading it
+ALTER TABLE event ADD COLUMN IF NOT EXISTS attendees_version BIGINT NOT NULL DEFAULT 0;
+
+-- Last edit of the event or change to its attendee list
+ALTER TABLE event ADD COLUMN IF NOT EXISTS last_modified_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now();
@@ -0,0 +1,24 @@
+-- Notifications are recorded here in the same transaction as the change that causes them
+-- and delivered later by the outbox dispatcher. No foreign keys: a message outlives its event.
+CREATE SEQUENCE IF NOT EXISTS outbox_message_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_message (
+    id              BIGINT PRIMARY KEY,
+    type            VARCHAR(40) NOT NULL,
+    event_id        BIGINT      NOT NULL,
+    user_id         BIGINT,
+    status          VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts        INTEGER     NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    fanout_cursor   BIGINT,
+    last_error      VARCHAR(500),
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at         TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- The dispatcher only ever scans pending rows that are due; delivered rows drop out of the index
+CREATE INDEX IF NOT EXISTS idx_outbox_message_due ON outbox_message (next_attempt_at, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_outbox_message_sent ON outbox_message (sent_at) WHERE status = 'SENT';
+
+-- Event-update fan-out pages through an event's attendees in id order
+CREATE INDEX IF NOT EXISTS idx_attendee_event_id ON attendee (event_id, id);
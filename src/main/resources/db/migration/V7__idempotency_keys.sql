@@ -0,0 +1,14 @@
+-- Idempotency-Key claims and their recorded responses. The key is stored as a digest of
+-- (user, key), so rows stay fixed-size whatever clients send.
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    key_hash        VARCHAR(64) PRIMARY KEY,
+    request_hash    VARCHAR(64) NOT NULL,
+    status          VARCHAR(20) NOT NULL,
+    response_status INTEGER,
+    content_type    VARCHAR(100),
+    response_body   BYTEA,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_expires ON idempotency_key (expires_at);
@@ -0,0 +1,30 @@
+-- Recurring event series. Occurrences are computed from the rule when they are listed; an
+-- occurrence only becomes an event row once it is needed (a registration or an override), so an
+-- open-ended series stores nothing for its future dates.
+CREATE TABLE IF NOT EXISTS event_series (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(255),
+    description  VARCHAR(255),
+    location     VARCHAR(255),
+    capacity     INTEGER,
+    creator_id   BIGINT REFERENCES _user (id),
+    first_start  TIMESTAMP(6) NOT NULL,
+    frequency    VARCHAR(20)  NOT NULL,
+    repeat_every INTEGER      NOT NULL,
+    repeat_until TIMESTAMP(6),
+    version      BIGINT       NOT NULL DEFAULT 0
+);
+
+-- Cancelled occurrences, which the rule would otherwise keep producing
+CREATE TABLE IF NOT EXISTS event_series_exclusion (
+    series_id        BIGINT       NOT NULL REFERENCES event_series (id) ON DELETE CASCADE,
+    occurrence_start TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (series_id, occurrence_start)
+);
+
+-- Materialised occurrences; ending a series keeps them as one-off events
+ALTER TABLE event ADD COLUMN IF NOT EXISTS series_id BIGINT REFERENCES event_series (id) ON DELETE SET NULL;
+ALTER TABLE event ADD COLUMN IF NOT EXISTS occurrence_start TIMESTAMP(6);
+
+-- At most one row per occurrence, so concurrent first registrations materialise it once
+CREATE UNIQUE INDEX IF NOT EXISTS uk_event_series_occurrence ON event (series_id, occurrence_start);
@@ -0,0 +1,4 @@
+-- SeatCountReconciler's incremental pass: EventRepository.findIdsModifiedSince reads
+-- WHERE last_modified_at >= :since ORDER BY last_modified_at DESC LIMIT n, which this index
+-- answers with a short backward range scan instead of sorting the whole event table
+CREATE INDEX IF NOT EXISTS idx_event_last_modified ON event (last_modified_at);
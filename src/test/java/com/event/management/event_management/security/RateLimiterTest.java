@@ -0,0 +1,78 @@
+package com.event.management.event_management.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void allowsABurstOfCapacityThenRejectsUntilRefill() {
+        RateLimiter.Route route = route(3, Duration.ofSeconds(1));
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(route.tryAcquire("client", now)).isEqualTo(RateLimiter.ALLOWED);
+        }
+        assertThat(route.tryAcquire("client", now)).isEqualTo(SECOND);  // Wait for the next token
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        RateLimiter.Route route = route(2, Duration.ofSeconds(1));
+        long now = 1_000 * SECOND;
+        route.tryAcquire("client", now);
+        route.tryAcquire("client", now);
+
+        assertThat(route.tryAcquire("client", now + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(route.tryAcquire("client", now + SECOND)).isEqualTo(RateLimiter.ALLOWED);
+        assertThat(route.tryAcquire("client", now + SECOND)).isPositive();
+
+        // Idle long enough to refill completely: the full burst is available again, but no more
+        long later = now + 10 * SECOND;
+        assertThat(route.tryAcquire("client", later)).isEqualTo(RateLimiter.ALLOWED);
+        assertThat(route.tryAcquire("client", later)).isEqualTo(RateLimiter.ALLOWED);
+        assertThat(route.tryAcquire("client", later)).isPositive();
+    }
+
+    @Test
+    void keepsSeparateBucketsPerKey() {
+        RateLimiter.Route route = route(1, Duration.ofSeconds(1));
+        long now = 1_000 * SECOND;
+
+        assertThat(route.tryAcquire("10.0.0.1", now)).isEqualTo(RateLimiter.ALLOWED);
+        assertThat(route.tryAcquire("10.0.0.1", now)).isPositive();
+        assertThat(route.tryAcquire("10.0.0.2", now)).isEqualTo(RateLimiter.ALLOWED);
+        assertThat(route.tryAcquire(42L, now)).isEqualTo(RateLimiter.ALLOWED);
+    }
+
+    @Test
+    void matchesMethodAndPathPattern() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getPolicies().put("register", policy("POST", "/api/attendees/register/*", 1, Duration.ofSeconds(1)));
+        RateLimiter limiter = new RateLimiter(properties);
+
+        assertThat(limiter.match("POST", "/api/attendees/register/7")).isNotNull();
+        assertThat(limiter.match("GET", "/api/attendees/register/7")).isNull();
+        assertThat(limiter.match("POST", "/api/events")).isNull();
+    }
+
+    private static RateLimiter.Route route(int capacity, Duration refillInterval) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getPolicies().put("test", policy("POST", "/test", capacity, refillInterval));
+        return new RateLimiter(properties).routes().get(0);
+    }
+
+    private static RateLimitProperties.Policy policy(String method, String path, int capacity, Duration refillInterval) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setMethod(method);
+        policy.setPath(path);
+        policy.setCapacity(capacity);
+        policy.setRefillInterval(refillInterval);
+        return policy;
+    }
+}
@@ -0,0 +1,175 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.entity.Attendee;
+import com.event.management.event_management.entity.AttendeeStatus;
+import com.event.management.event_management.entity.Event;
+import com.event.management.event_management.entity.Role;
+import com.event.management.event_management.entity.User;
+import com.event.management.event_management.exception.AlreadyRegisteredException;
+import com.event.management.event_management.exception.EventFullException;
+import com.event.management.event_management.repository.AttendeeRepository;
+import com.event.management.event_management.repository.EventRepository;
+import com.event.management.event_management.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Registration against the configured PostgreSQL database, like contextLoads: the guarantees come
+ * from the conditional seat UPDATE, row locks and unique constraints, which only a real database has.
+ */
+@SpringBootTest(properties = "warmup.enabled=false")
+class AttendeeServiceImplTest {
+
+    @Autowired
+    private AttendeeService attendeeService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private AttendeeRepository attendeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> eventIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteTestData() {
+        for (Long eventId : eventIds) {
+            jdbcTemplate.update("DELETE FROM outbox_message WHERE event_id = ?", eventId);
+            jdbcTemplate.update("DELETE FROM attendee WHERE event_id = ?", eventId);
+            jdbcTemplate.update("DELETE FROM event WHERE id = ?", eventId);
+        }
+        for (Long userId : userIds) {
+            jdbcTemplate.update("DELETE FROM _user WHERE id = ?", userId);
+        }
+    }
+
+    @Test
+    void concurrentRegistrationsForTheLastSeatBookItOnce() throws Exception {
+        User creator = newUser();
+        Event event = newEvent(creator, 1);
+        User first = newUser();
+        User second = newUser();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Attendee>> results = new ArrayList<>();
+            for (User user : List.of(first, second)) {
+                Callable<Attendee> register = () -> {
+                    start.await();
+                    return attendeeService.registerForEvent(event.getId(), user.getId());
+                };
+                results.add(executor.submit(register));
+            }
+            start.countDown();
+
+            int registered = 0;
+            int full = 0;
+            for (Future<Attendee> result : results) {
+                try {
+                    result.get();
+                    registered++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(EventFullException.class);
+                    full++;
+                }
+            }
+            assertThat(registered).isEqualTo(1);
+            assertThat(full).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getRegisteredCount()).isEqualTo(1);
+        assertThat(attendeeRepository.countByEventIdAndStatus(event.getId(), AttendeeStatus.REGISTERED)).isEqualTo(1);
+    }
+
+    @Test
+    void registeringTwiceIsRejected() {
+        Event event = newEvent(newUser(), 10);
+        User user = newUser();
+
+        attendeeService.registerForEvent(event.getId(), user.getId());
+
+        assertThatThrownBy(() -> attendeeService.registerForEvent(event.getId(), user.getId()))
+                .isInstanceOf(AlreadyRegisteredException.class);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getRegisteredCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cancellingPromotesTheOldestWaitlistEntry() {
+        Event event = newEvent(newUser(), 1);
+        Attendee registered = attendeeService.registerForEvent(event.getId(), newUser().getId());
+        Attendee firstInLine = attendeeService.joinWaitlist(event.getId(), newUser().getId());
+        Attendee secondInLine = attendeeService.joinWaitlist(event.getId(), newUser().getId());
+        assertThat(firstInLine.getStatus()).isEqualTo(AttendeeStatus.WAITLISTED);
+        assertThat(secondInLine.getWaitlistPosition()).isGreaterThan(firstInLine.getWaitlistPosition());
+
+        attendeeService.cancelRegistration(registered.getId());
+
+        assertThat(attendeeRepository.findById(firstInLine.getId()).orElseThrow().getStatus())
+                .isEqualTo(AttendeeStatus.REGISTERED);
+        assertThat(attendeeRepository.findById(secondInLine.getId()).orElseThrow().getStatus())
+                .isEqualTo(AttendeeStatus.WAITLISTED);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getRegisteredCount()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyCancellingARegistrationQueuesACancellationNotice() {
+        Event event = newEvent(newUser(), 1);
+        Attendee registered = attendeeService.registerForEvent(event.getId(), newUser().getId());
+        Attendee waitlisted = attendeeService.joinWaitlist(event.getId(), newUser().getId());
+
+        attendeeService.cancelRegistration(waitlisted.getId());
+        assertThat(cancellationNotices(event)).isZero();
+
+        attendeeService.cancelRegistration(registered.getId());
+        assertThat(cancellationNotices(event)).isEqualTo(1);
+    }
+
+    private Integer cancellationNotices(Event event) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM outbox_message WHERE event_id = ? AND type = 'REGISTRATION_CANCELLED'",
+                Integer.class, event.getId());
+    }
+
+    private User newUser() {
+        String name = "test-" + UUID.randomUUID();
+        User user = userRepository.save(new User(null, name, name + "@example.com", "x", Role.ROLE_USER));
+        userIds.add(user.getId());
+        return user;
+    }
+
+    private Event newEvent(User creator, Integer capacity) {
+        Event event = new Event();
+        event.setTitle("Test event");
+        event.setCapacity(capacity);
+        event.setCreator(creator);
+        event = eventRepository.save(event);
+        eventIds.add(event.getId());
+        return event;
+    }
+}
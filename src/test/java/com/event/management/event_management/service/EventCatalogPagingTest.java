@@ -0,0 +1,136 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.dto.EventDTO;
+import com.event.management.event_management.dto.EventSeriesDTO;
+import com.event.management.event_management.entity.RecurrenceFrequency;
+import com.event.management.event_management.repository.EventRepository;
+import com.event.management.event_management.repository.EventSeriesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Keyset paging of the catalog with series occurrences merged in. The repositories are stubbed
+ * with in-memory versions of their keyset queries; the expansion and merge are the real ones.
+ */
+class EventCatalogPagingTest {
+
+    private static final long SERIES_ID = 5L;
+
+    // Daily series over five days, starting tomorrow; day 2 is materialised as event 100, day 3 cancelled
+    private final LocalDateTime day1 = LocalDate.now().plusDays(1).atTime(LocalTime.of(10, 0));
+    private final List<EventDTO> rows = new ArrayList<>();
+
+    private EventServiceImpl eventService;
+
+    @BeforeEach
+    void setUp() {
+        rows.add(event(101L, day1, null));  // Same start as the first occurrence
+        rows.add(event(100L, day1.plusDays(1), SERIES_ID));
+        rows.add(event(102L, day1.plusDays(3).plusHours(2), null));
+        rows.sort(EventCursor.DATED_ORDER);
+
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.findDatedFirstPage(any())).thenAnswer(call ->
+                limit(rows, call.getArgument(0)));
+        when(eventRepository.findDatedPageAfter(any(), anyLong(), any())).thenAnswer(call -> {
+            EventCursor after = new EventCursor(call.getArgument(0), call.getArgument(1));
+            return limit(rows.stream().filter(row -> isAfter(row, after)).toList(), call.getArgument(2));
+        });
+        when(eventRepository.findUndatedPageAfter(anyLong(), any())).thenReturn(List.of());
+        when(eventRepository.findMaterializedBetween(anyCollection(), any(), any())).thenReturn(
+                List.of(new SeriesOccurrence(SERIES_ID, day1.plusDays(1), 100L)));
+
+        EventSeriesRepository eventSeriesRepository = mock(EventSeriesRepository.class);
+        when(eventSeriesRepository.findDtoActiveBetween(any(), any())).thenReturn(List.of(new EventSeriesDTO(
+                SERIES_ID, "Yoga", null, "Park", 10, day1, RecurrenceFrequency.DAILY, 1, day1.plusDays(4),
+                1L, "creator", 0L)));
+        when(eventSeriesRepository.findExcludedBetween(anyCollection(), any(), any())).thenReturn(
+                List.of(new SeriesOccurrence(SERIES_ID, day1.plusDays(2))));
+
+        EventSeriesServiceImpl eventSeriesService =
+                new EventSeriesServiceImpl(eventSeriesRepository, eventRepository, null, null);
+        ReflectionTestUtils.setField(eventSeriesService, "horizonDays", 90);
+        eventService = new EventServiceImpl(eventRepository, null, null, null, null, eventSeriesService, eventSeriesRepository);
+    }
+
+    @Test
+    void firstPageMergesOccurrencesInDateOrder() {
+        List<String> page = describe(eventService.getEventsPage(null, 10));
+
+        assertThat(page).containsExactly(
+                "series@" + day1,                        // Virtual occurrence sorts before event 101 at the same time
+                "101@" + day1,
+                "100@" + day1.plusDays(1),               // Materialised occurrence, listed once as its event row
+                "series@" + day1.plusDays(3),            // Day 3 was cancelled
+                "102@" + day1.plusDays(3).plusHours(2),
+                "series@" + day1.plusDays(4));
+    }
+
+    @Test
+    void pagingVisitsEveryEntryOnceWhateverThePageSize() {
+        List<String> expected = describe(eventService.getEventsPage(null, 10));
+
+        for (int size = 1; size <= 4; size++) {
+            List<String> visited = new ArrayList<>();
+            EventCursor cursor = null;
+            // Bounded, so a cursor that fails to advance fails the test instead of looping forever
+            for (int pages = 0; pages <= expected.size(); pages++) {
+                List<EventDTO> page = eventService.getEventsPage(cursor, size);
+                visited.addAll(describe(page));
+                if (page.size() < size) {
+                    break;
+                }
+                // Round-trip through the client token, as the controller does
+                cursor = EventCursor.decode(EventCursor.of(page.get(page.size() - 1)).encode());
+            }
+            assertThat(visited).as("page size %d", size).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void pageBoundaryOnAVirtualOccurrenceContinuesWithTheRowAtTheSameTime() {
+        List<EventDTO> first = eventService.getEventsPage(null, 1);
+        assertThat(first.get(0).getId()).isNull();
+
+        EventCursor cursor = EventCursor.of(first.get(0));
+        assertThat(cursor.id()).isEqualTo(-SERIES_ID);
+        assertThat(describe(eventService.getEventsPage(cursor, 1))).containsExactly("101@" + day1);
+    }
+
+    private static EventDTO event(Long id, LocalDateTime eventDate, Long seriesId) {
+        return new EventDTO(id, "Event " + id, null, null, eventDate, 10,
+                new EventDTO.CreatorDTO(1L, "creator"), seriesId, 0, 0L, null);
+    }
+
+    private static boolean isAfter(EventDTO row, EventCursor cursor) {
+        int byDate = row.getEventDate().compareTo(cursor.eventDate());
+        return byDate > 0 || (byDate == 0 && row.getId() > cursor.id());
+    }
+
+    private static List<EventDTO> limit(List<EventDTO> rows, Pageable limit) {
+        return rows.stream().sorted(Comparator.comparing(EventDTO::getEventDate).thenComparing(EventDTO::getId))
+                .limit(limit.getPageSize()).toList();
+    }
+
+    private static List<String> describe(List<EventDTO> events) {
+        return events.stream()
+                .map(event -> (event.getId() == null ? "series" : event.getId().toString()) + "@" + event.getEventDate())
+                .toList();
+    }
+}
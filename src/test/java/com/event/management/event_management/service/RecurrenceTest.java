@@ -0,0 +1,69 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.entity.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurrenceTest {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2027, 1, 4, 18, 0);
+
+    @Test
+    void weeklyIncludesBothEndsOfTheWindow() {
+        Recurrence weekly = new Recurrence(FIRST, RecurrenceFrequency.WEEKLY, 1, null);
+
+        assertThat(list(weekly.between(FIRST, FIRST.plusWeeks(2)))).containsExactly(
+                FIRST, FIRST.plusWeeks(1), FIRST.plusWeeks(2));
+    }
+
+    @Test
+    void startsMidSeriesWithoutWalkingEarlierOccurrences() {
+        Recurrence everyOtherDay = new Recurrence(FIRST, RecurrenceFrequency.DAILY, 2, null);
+        LocalDateTime from = FIRST.plusYears(30).plusHours(1);  // Just after an occurrence
+
+        List<LocalDateTime> starts = list(everyOtherDay.between(from, from.plusDays(5)));
+
+        assertThat(starts).hasSize(2).allMatch(start -> start.isAfter(from) && everyOtherDay.isOccurrence(start));
+        assertThat(starts.get(1)).isEqualTo(starts.get(0).plusDays(2));
+    }
+
+    @Test
+    void stopsAtTheEndOfTheRule() {
+        Recurrence daily = new Recurrence(FIRST, RecurrenceFrequency.DAILY, 1, FIRST.plusDays(2));
+
+        assertThat(list(daily.between(FIRST.minusDays(10), FIRST.plusDays(10)))).containsExactly(
+                FIRST, FIRST.plusDays(1), FIRST.plusDays(2));
+        assertThat(daily.isOccurrence(FIRST.plusDays(3))).isFalse();
+    }
+
+    @Test
+    void monthlyKeepsTheDayOfMonthAfterShortMonths() {
+        LocalDateTime jan31 = LocalDateTime.of(2027, 1, 31, 9, 0);
+        Recurrence monthly = new Recurrence(jan31, RecurrenceFrequency.MONTHLY, 1, null);
+
+        assertThat(list(monthly.between(jan31, jan31.plusMonths(2)))).containsExactly(
+                jan31, LocalDateTime.of(2027, 2, 28, 9, 0), LocalDateTime.of(2027, 3, 31, 9, 0));
+    }
+
+    @Test
+    void recognisesOnlyRuleStartTimes() {
+        Recurrence weekly = new Recurrence(FIRST, RecurrenceFrequency.WEEKLY, 2, null);
+
+        assertThat(weekly.isOccurrence(FIRST.plusWeeks(4))).isTrue();
+        assertThat(weekly.isOccurrence(FIRST.plusWeeks(3))).isFalse();
+        assertThat(weekly.isOccurrence(FIRST.plusWeeks(4).plusMinutes(1))).isFalse();
+        assertThat(weekly.isOccurrence(FIRST.minusWeeks(2))).isFalse();
+    }
+
+    private static List<LocalDateTime> list(Iterator<LocalDateTime> iterator) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        iterator.forEachRemaining(starts::add);
+        return starts;
+    }
+}
@@ -0,0 +1,68 @@
+package com.event.management.event_management.service;
+
+import com.event.management.event_management.entity.RefreshToken;
+import com.event.management.event_management.entity.User;
+import com.event.management.event_management.exception.AccountSuspendedException;
+import com.event.management.event_management.repository.RefreshTokenRepository;
+import com.event.management.event_management.security.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceImplTest {
+
+    private static final String FAMILY_ID = "family-1";
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final TokenRevocationService tokenRevocationService = new TokenRevocationService();
+    private final User user = new User();
+
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        user.setId(1L);
+        user.setUsername("alice");
+        Instant now = Instant.now();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(
+                new RefreshToken(10L, "hash", FAMILY_ID, user, now, now.plusSeconds(3600), null)));
+        when(refreshTokenRepository.revokeIfActive(anyLong(), any())).thenReturn(1);
+
+        ReflectionTestUtils.setField(tokenRevocationService, "enabled", true);
+        refreshTokenService = new RefreshTokenServiceImpl(refreshTokenRepository, null, tokenRevocationService);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationMs", 3_600_000L);
+    }
+
+    @Test
+    void rotationIssuesSuccessorInSameFamily() {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("token");
+
+        assertThat(rotation.user()).isSameAs(user);
+        assertThat(rotation.refreshToken()).isNotBlank();
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void bannedUserGetsNoSuccessorAndLosesTheFamily() {
+        tokenRevocationService.ban("alice");
+
+        assertThatThrownBy(() -> refreshTokenService.rotate("token"))
+                .isInstanceOf(AccountSuspendedException.class);
+        verify(refreshTokenRepository).revokeFamily(eq(FAMILY_ID), any());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+}